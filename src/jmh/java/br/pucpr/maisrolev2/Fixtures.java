@@ -0,0 +1,70 @@
+package br.pucpr.maisrolev2;
+
+import br.pucpr.maisrolev2.rest.Role;
+import br.pucpr.maisrolev2.rest.hosts.Address;
+import br.pucpr.maisrolev2.rest.hosts.Contact;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.UserPersonalData;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public final class Fixtures {
+    private Fixtures() {}
+
+    public static User user(Long id) {
+        var personalData = new UserPersonalData();
+        personalData.setId(id);
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setCellNumber("(41) 92142-9431");
+        personalData.setDateOfBirth("20/10/1992");
+        personalData.setEmail("johndoe" + id + "@email.com");
+
+        var user = new User();
+        user.setId(id);
+        user.setUsername("johndoe" + id);
+        user.setPassword("mYp@s$w0rd");
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user.setPersonalData(personalData);
+        return user;
+    }
+
+    public static Host host(Long id) {
+        var contact = new Contact();
+        contact.setId(id);
+        contact.setInsta("@host" + id);
+        contact.setMobile("(41) 99999-0000");
+        contact.setEmail("host" + id + "@email.com");
+
+        var address = new Address();
+        address.setId(id);
+        address.setStreet("Rua Imaculada Conceição");
+        address.setNumber("1155");
+        address.setCEP("80215-901");
+        address.setDistrict("Prado Velho");
+        address.setCity("Curitiba");
+        address.setState("PR");
+
+        var host = new Host();
+        host.setId(id);
+        host.setHostName("Host " + id);
+        host.setHostTypes(new HashSet<>(Set.of(HostType.BAR, HostType.PARTY)));
+        host.setContact(contact);
+        host.setAddress(address);
+        return host;
+    }
+
+    public static Review review(Long id, Host host, User user) {
+        var review = new Review();
+        review.setId(id);
+        review.setRating((int) (id % 5) + 1);
+        review.setText("Great drinks and music, review number " + id);
+        review.setHost(host);
+        review.setUser(user);
+        return review;
+    }
+}
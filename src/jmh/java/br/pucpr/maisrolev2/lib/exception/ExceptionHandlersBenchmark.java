@@ -0,0 +1,51 @@
+package br.pucpr.maisrolev2.lib.exception;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlersBenchmark {
+    private ExceptionHandlers handlers;
+    private ObjectMapper mapper;
+    private MethodArgumentNotValidException validationException;
+
+    @Setup
+    public void setup() throws Exception {
+        handlers = new ExceptionHandlers();
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+
+        var bindingResult = new BeanPropertyBindingResult(new Object(), "user");
+        bindingResult.addError(new FieldError("user", "username", "size must be between 5 and 30"));
+        bindingResult.addError(new FieldError("user", "password", "size must be between 8 and 40"));
+        validationException = new MethodArgumentNotValidException(
+                new MethodParameter(Object.class.getMethod("equals", Object.class), 0), bindingResult);
+    }
+
+    @Benchmark
+    public byte[] notFound() throws Exception {
+        return mapper.writeValueAsBytes(handlers.handleNotFoundException(new NotFoundException(42L)).getBody());
+    }
+
+    @Benchmark
+    public byte[] alreadyExists() throws Exception {
+        var ex = new AlreadyExistsException("Username or email already taken.");
+        return mapper.writeValueAsBytes(handlers.handleAlreadyExistsException(ex).getBody());
+    }
+
+    @Benchmark
+    public Object validation() {
+        return handlers.handleValidationException(validationException).getBody();
+    }
+}
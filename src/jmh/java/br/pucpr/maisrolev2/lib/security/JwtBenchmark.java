@@ -0,0 +1,65 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import br.pucpr.maisrolev2.Fixtures;
+import br.pucpr.maisrolev2.rest.users.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+    private SecuritySettings settings;
+    private JWT jwt;
+    private User user;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup
+    public void setup() {
+        settings = new SecuritySettings();
+        settings.setIssuer("Mais Role");
+        settings.setSecret("8y/B?E(H+MbQeThVmYq3t6w9z$C&F)J@");
+        jwt = new JWT(settings, new SimpleMeterRegistry());
+        user = Fixtures.user(1L);
+        token = jwt.createToken(user);
+
+        request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return jwt.createToken(user);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication cachedParser() {
+        return JWT.extract(request);
+    }
+
+    // The previous JWT.extract path: parser, deserializer and key material rebuilt on every call.
+    @Benchmark
+    @Threads(4)
+    public Claims parserPerRequest() {
+        return Jwts.parserBuilder()
+                .setSigningKey(settings.getSecret().getBytes())
+                .deserializeJsonWith(new JacksonDeserializer<>(Map.of("user", User.class)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
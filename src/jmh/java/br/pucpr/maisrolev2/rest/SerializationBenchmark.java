@@ -0,0 +1,89 @@
+package br.pucpr.maisrolev2.rest;
+
+import br.pucpr.maisrolev2.Fixtures;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.rest.reviews.ReviewView;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.responses.UserResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// Entity graphs against the response records the controllers now return, each with the reflective
+// property access of a plain ObjectMapper and with Blackbird's generated accessors.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"1", "50"})
+    private int size;
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper mapper;
+    private List<User> users;
+    private List<Host> hosts;
+    private List<Review> reviews;
+    private List<UserResponse> userResponses;
+    private List<HostResponse> hostResponses;
+    private List<ReviewView> reviewViews;
+
+    @Setup
+    public void setup() {
+        // Same defaults as the ObjectMapper Spring Boot builds for the application.
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) builder.modulesToInstall(new BlackbirdModule());
+        mapper = builder.build();
+        users = LongStream.rangeClosed(1, size).mapToObj(Fixtures::user).toList();
+        hosts = LongStream.rangeClosed(1, size).mapToObj(Fixtures::host).toList();
+        reviews = LongStream.rangeClosed(1, size)
+                .mapToObj(i -> Fixtures.review(i, hosts.get((int) i - 1), users.get((int) i - 1)))
+                .toList();
+        userResponses = users.stream().map(UserResponse::of).toList();
+        hostResponses = hosts.stream().map(HostResponse::of).toList();
+        reviewViews = reviews.stream()
+                .map(r -> new ReviewView(r.getId(), r.getPostDate(), r.getRating(), r.getText(),
+                        r.getHost().getId(), r.getHost().getHostName()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] users() throws Exception {
+        return mapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] hosts() throws Exception {
+        return mapper.writeValueAsBytes(hosts);
+    }
+
+    @Benchmark
+    public byte[] reviews() throws Exception {
+        return mapper.writeValueAsBytes(reviews);
+    }
+
+    @Benchmark
+    public byte[] userResponses() throws Exception {
+        return mapper.writeValueAsBytes(userResponses);
+    }
+
+    @Benchmark
+    public byte[] hostResponses() throws Exception {
+        return mapper.writeValueAsBytes(hostResponses);
+    }
+
+    @Benchmark
+    public byte[] reviewViews() throws Exception {
+        return mapper.writeValueAsBytes(reviewViews);
+    }
+}
@@ -0,0 +1,57 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.Fixtures;
+import br.pucpr.maisrolev2.MaisRoleV2Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+// UserService.logUser against the embedded H2 database of the "test" profile. The fixtures store
+// plaintext passwords, so the first login of each user also measures the rehash.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class LoginBenchmark {
+    @Param({"10000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private UserService service;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(MaisRoleV2Application.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        service = context.getBean(UserService.class);
+        var repository = context.getBean(UserRepository.class);
+        repository.saveAll(LongStream.rangeClosed(1, users).mapToObj(i -> {
+            var user = Fixtures.user(null);
+            user.setUsername("johndoe" + i);
+            user.getPersonalData().setId(null);
+            user.getPersonalData().setEmail("johndoe" + i + "@email.com");
+            return user;
+        }).toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User logUser() {
+        var i = ThreadLocalRandom.current().nextInt(1, users + 1);
+        return service.logUser("johndoe" + i, "mYp@s$w0rd");
+    }
+}
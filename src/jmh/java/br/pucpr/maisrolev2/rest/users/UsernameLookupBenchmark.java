@@ -0,0 +1,73 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.MaisRoleV2Application;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Username lookup on a table of a million users: the indexed username_key point read against the
+// former upper(username) like upper(:username) scan. Rows are inserted with JDBC batches since going
+// through JPA would dominate the setup time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UsernameLookupBenchmark {
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(MaisRoleV2Application.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        entityManager = context.getBean(EntityManager.class);
+        var jdbc = context.getBean(JdbcTemplate.class);
+        for (int from = 1; from <= users; from += BATCH) {
+            var ids = IntStream.range(from, Math.min(users + 1, from + BATCH)).boxed().toList();
+            jdbc.batchUpdate("insert into user_personal_data (id, first_name, last_name, email) values (?, ?, ?, ?)",
+                    ids.stream().map(i -> new Object[]{i, "John", "Doe", "johndoe" + i + "@email.com"}).toList());
+            jdbc.batchUpdate("insert into user (id, username, username_key, password, personal_data_id) values (?, ?, ?, ?, ?)",
+                    ids.stream().map(i -> new Object[]{i, "JohnDoe" + i, "johndoe" + i, "mYp@s$w0rd", i}).toList());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private String randomUsername() {
+        return "JOHNDOE" + ThreadLocalRandom.current().nextInt(1, users + 1);
+    }
+
+    @Benchmark
+    public List<Long> indexedKey() {
+        return entityManager.createQuery("select u.id from User u where u.usernameKey = :key", Long.class)
+                .setParameter("key", User.usernameKey(randomUsername()))
+                .getResultList();
+    }
+
+    @Benchmark
+    public List<Long> upperLike() {
+        return entityManager.createQuery("select u.id from User u where upper(u.username) like upper(:username)", Long.class)
+                .setParameter("username", randomUsername())
+                .getResultList();
+    }
+}
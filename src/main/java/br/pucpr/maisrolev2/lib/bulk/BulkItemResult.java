@@ -0,0 +1,26 @@
+package br.pucpr.maisrolev2.lib.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItemResult(int index, Status status, Long id, List<String> errors) {
+    public enum Status { CREATED, REJECTED, FAILED }
+
+    public static BulkItemResult created(int index, Long id) {
+        return new BulkItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BulkItemResult rejected(int index, List<String> errors) {
+        return new BulkItemResult(index, Status.REJECTED, null, errors);
+    }
+
+    public static BulkItemResult rejected(int index, String error) {
+        return rejected(index, List.of(error));
+    }
+
+    public static BulkItemResult failed(int index, String error) {
+        return new BulkItemResult(index, Status.FAILED, null, List.of(error));
+    }
+}
@@ -0,0 +1,18 @@
+package br.pucpr.maisrolev2.lib.bulk;
+
+import java.util.List;
+
+public record BulkResult(long created, long rejected, long failed, List<BulkItemResult> items) {
+    public static BulkResult of(List<BulkItemResult> items) {
+        return new BulkResult(
+                count(items, BulkItemResult.Status.CREATED),
+                count(items, BulkItemResult.Status.REJECTED),
+                count(items, BulkItemResult.Status.FAILED),
+                items
+        );
+    }
+
+    private static long count(List<BulkItemResult> items, BulkItemResult.Status status) {
+        return items.stream().filter(i -> i.status() == status).count();
+    }
+}
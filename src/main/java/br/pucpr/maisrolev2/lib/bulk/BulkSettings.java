@@ -0,0 +1,13 @@
+package br.pucpr.maisrolev2.lib.bulk;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("bulk")
+@Data
+public class BulkSettings {
+    private int chunkSize = 500;
+    private int maxItems = 10_000;
+}
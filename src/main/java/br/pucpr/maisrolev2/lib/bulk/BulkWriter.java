@@ -0,0 +1,90 @@
+package br.pucpr.maisrolev2.lib.bulk;
+
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+@Component
+public class BulkWriter {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BulkSettings settings;
+
+    public BulkWriter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                      Validator validator, BulkSettings settings) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.validator = validator;
+        this.settings = settings;
+    }
+
+    // Validates the whole batch up front. The returned array holds a REJECTED result for every invalid
+    // item and null for the others; callers may reject more items before handing it to write().
+    public <T> BulkItemResult[] validate(List<T> items) {
+        if (items == null || items.isEmpty()) throw new BadRequestException("Batch is empty.");
+        if (items.size() > settings.getMaxItems())
+            throw new BadRequestException("Batch exceeds " + settings.getMaxItems() + " items.");
+
+        var results = new BulkItemResult[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            if (item == null) {
+                results[i] = BulkItemResult.rejected(i, "Item is null.");
+                continue;
+            }
+            var violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                results[i] = BulkItemResult.rejected(i, violations.stream()
+                        .map(v -> String.format("'%s' %s", v.getPropertyPath(), v.getMessage()))
+                        .sorted()
+                        .toList());
+            }
+        }
+        return results;
+    }
+
+    // Persists every item without a result in transactions of chunkSize items; the inserts of a chunk
+    // go out as JDBC batches on flush. A failing chunk is rolled back and its items retried one per
+    // transaction, so a bad row only fails itself. reset must clear the ids assigned by the rolled back attempt.
+    public <T> BulkResult write(List<T> items, BulkItemResult[] results, Function<T, Long> persist, Consumer<T> reset) {
+        var pending = IntStream.range(0, items.size()).filter(i -> results[i] == null).toArray();
+        for (int from = 0; from < pending.length; from += settings.getChunkSize()) {
+            var chunk = Arrays.copyOfRange(pending, from, Math.min(pending.length, from + settings.getChunkSize()));
+            try {
+                var ids = transactionTemplate.execute(status -> {
+                    var saved = new Long[chunk.length];
+                    for (int j = 0; j < chunk.length; j++) saved[j] = persist.apply(items.get(chunk[j]));
+                    entityManager.flush();
+                    entityManager.clear();
+                    return saved;
+                });
+                for (int j = 0; j < chunk.length; j++) results[chunk[j]] = BulkItemResult.created(chunk[j], ids[j]);
+            } catch (RuntimeException e) {
+                for (var i : chunk) results[i] = writeOne(i, items.get(i), persist, reset);
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    private <T> BulkItemResult writeOne(int index, T item, Function<T, Long> persist, Consumer<T> reset) {
+        reset.accept(item);
+        try {
+            return BulkItemResult.created(index, transactionTemplate.execute(status -> persist.apply(item)));
+        } catch (RuntimeException e) {
+            return BulkItemResult.failed(index, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import br.pucpr.maisrolev2.lib.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+// Users who committed a write recently, whose reads must not go to a replica that may not have it yet.
+public class ReadYourWrites {
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration stickiness) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    public static Long currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+    }
+
+    public void wrote(Long userId) {
+        if (userId != null) recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isSticky(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
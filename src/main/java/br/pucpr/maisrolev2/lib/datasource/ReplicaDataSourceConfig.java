@@ -0,0 +1,77 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+// Replaces Boot's single DataSource when replicas.enabled is set. The primary keeps the spring.datasource
+// settings, including the spring.datasource.hikari pool tuning; each replica gets a pool of the same shape.
+@Configuration
+@ConditionalOnProperty(prefix = "replicas", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        var dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSources replicaDataSources(ReplicaSettings settings, Environment environment) {
+        var binder = Binder.get(environment);
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for (int i = 0; i < settings.getNodes().size(); i++) {
+            var node = settings.getNodes().get(i);
+            var dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(node.getUrl())
+                    .username(node.getUsername())
+                    .password(node.getPassword())
+                    .driverClassName(node.getDriverClassName())
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setReadOnly(true);
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReplicaDataSources(replicas);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(HikariDataSource primaryDataSource,
+                                               ReplicaDataSources replicaDataSources, ReplicaSettings settings) {
+        var monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSources.byName(), settings.getMaxStaleness());
+        monitor.initialize();
+        return monitor;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaSettings settings) {
+        var stickiness = settings.getStickiness().compareTo(settings.getMaxStaleness()) < 0
+                ? settings.getMaxStaleness()
+                : settings.getStickiness();
+        return new ReadYourWrites(stickiness);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSources replicaDataSources,
+                                 ReplicaLagMonitor replicaLagMonitor, ReadYourWrites readYourWrites) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primaryDataSource, replicaDataSources.byName(), replicaLagMonitor, readYourWrites));
+    }
+}
@@ -0,0 +1,16 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+// The replica pools by name. They are one bean of this type rather than DataSource beans or a bean of type
+// Map<String, DataSource>: a Map parameter of that type is filled with every DataSource bean, including the
+// routing one being built, and DataSource beans would compete with it wherever a DataSource is injected.
+public record ReplicaDataSources(Map<String, DataSource> byName) implements AutoCloseable {
+    @Override
+    public void close() throws Exception {
+        for (var dataSource : byName.values()) {
+            if (dataSource instanceof AutoCloseable closeable) closeable.close();
+        }
+    }
+}
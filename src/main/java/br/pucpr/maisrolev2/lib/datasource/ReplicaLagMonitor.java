@@ -0,0 +1,81 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The primary stamps a heartbeat row with the current time; each replica's lag is how old the copy
+// it has replicated is. Replicas that cannot be read or lag more than maxStaleness are left out.
+public class ReplicaLagMonitor implements MeterBinder {
+    private static final String CREATE = "create table if not exists replication_heartbeat (id int primary key, beat_at bigint not null)";
+    private static final String INSERT = "insert into replication_heartbeat (id, beat_at) values (1, ?)";
+    private static final String UPDATE = "update replication_heartbeat set beat_at = ? where id = 1";
+    private static final String SELECT = "select beat_at from replication_heartbeat where id = 1";
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private final Map<String, Long> lag = new ConcurrentHashMap<>();
+    private final long maxStaleness;
+    private volatile List<String> eligible = List.of();
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxStaleness) {
+        this.primary = new JdbcTemplate(primary);
+        replicas.forEach((key, dataSource) -> this.replicas.put(key, new JdbcTemplate(dataSource)));
+        this.maxStaleness = maxStaleness.toMillis();
+    }
+
+    public void initialize() {
+        primary.execute(CREATE);
+        var now = System.currentTimeMillis();
+        if (primary.update(UPDATE, now) == 0) primary.update(INSERT, now);
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${replicas.heartbeat-interval-millis:1000}")
+    public void check() {
+        var now = System.currentTimeMillis();
+        try {
+            primary.update(UPDATE, now);
+        } catch (RuntimeException e) {
+            // Without a fresh heartbeat every replica looks stale soon enough, which is the safe outcome.
+        }
+        var fresh = replicas.entrySet().stream()
+                .filter(replica -> {
+                    try {
+                        var beat = replica.getValue().queryForObject(SELECT, Long.class);
+                        var behind = beat == null ? Long.MAX_VALUE : Math.max(0, now - beat);
+                        lag.put(replica.getKey(), behind);
+                        return behind <= maxStaleness;
+                    } catch (RuntimeException e) {
+                        lag.put(replica.getKey(), Long.MAX_VALUE);
+                        return false;
+                    }
+                })
+                .map(Map.Entry::getKey)
+                .toList();
+        eligible = fresh;
+    }
+
+    public List<String> eligibleReplicas() {
+        return eligible;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        replicas.keySet().forEach(key -> Gauge.builder("datasource.replica.lag", lag,
+                        l -> l.getOrDefault(key, Long.MAX_VALUE) / 1000.0)
+                .description("Age of the newest heartbeat the replica has applied")
+                .baseUnit("seconds")
+                .tag("replica", key)
+                .register(registry));
+    }
+}
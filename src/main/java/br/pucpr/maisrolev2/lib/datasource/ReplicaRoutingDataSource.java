@@ -0,0 +1,53 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only transactions go to a replica, round robin among the ones within the staleness limit;
+// everything else, and the reads of a user who has just written, go to the primary. Must sit behind
+// a LazyConnectionDataSourceProxy: the transaction manager fetches its connection before the
+// read-only flag is bound, and the proxy defers that until the first statement.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor monitor;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLagMonitor monitor,
+                                    ReadYourWrites readYourWrites) {
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+        var targets = new HashMap<Object, Object>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        var user = ReadYourWrites.currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.wrote(user);
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky(user)) return PRIMARY;
+        var replicas = monitor.eligibleReplicas();
+        if (replicas.isEmpty()) return PRIMARY;
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+}
@@ -0,0 +1,31 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties("replicas")
+@Data
+public class ReplicaSettings {
+    private boolean enabled = false;
+    private List<Node> nodes = new ArrayList<>();
+    // Replicas whose last heartbeat is older than this stop receiving reads until they catch up.
+    private Duration maxStaleness = Duration.ofSeconds(5);
+    // How long a user's reads stay on the primary after one of their writes commits. Never shorter
+    // than maxStaleness, since a replica may lag that much behind the write.
+    private Duration stickiness = Duration.ofSeconds(10);
+    private long heartbeatIntervalMillis = 1000;
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
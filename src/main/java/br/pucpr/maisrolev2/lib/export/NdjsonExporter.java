@@ -0,0 +1,47 @@
+package br.pucpr.maisrolev2.lib.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+@Component
+public class NdjsonExporter {
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+    // JDBC fetch size for the streaming repository queries; used in @QueryHint so it must be a constant.
+    public static final String FETCH_SIZE = "1000";
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ObjectWriter writer;
+    private final EntityManager entityManager;
+
+    public NdjsonExporter(ObjectMapper mapper, EntityManager entityManager) {
+        this.writer = mapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+    }
+
+    // Writes one JSON document per line, clearing the persistence context every chunk so the
+    // heap only ever holds CHUNK_SIZE managed rows. Must run inside the transaction that opened the stream.
+    public <T> long write(Stream<T> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (rows; var generator = writer.getFactory().createGenerator(out)) {
+            var it = rows.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                if (++count % CHUNK_SIZE == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            if (count > 0) generator.writeRaw('\n');
+        }
+        return count;
+    }
+}
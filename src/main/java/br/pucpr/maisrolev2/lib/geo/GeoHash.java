@@ -0,0 +1,172 @@
+package br.pucpr.maisrolev2.lib.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Base32 geohashes: a prefix of a hash is the cell that contains it, so "within a cell" is an
+// index range scan on a geohash column. The alphabet is in ascending character order, which also makes
+// prefixes of any number of bits, not just whole characters, contiguous ranges of hashes.
+public final class GeoHash {
+    public static final int MAX_PRECISION = 12;
+    private static final int MAX_BITS = MAX_PRECISION * 5;
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    // A pruned cell must clear the radius by this much, since the nearest corner is found on a flat grid.
+    private static final double PRUNE_MARGIN = 1.01;
+
+    private GeoHash() {}
+
+    // Hashes h with from <= h < to; a null to is open-ended.
+    public record Range(String from, String to) {}
+
+    // minLon > maxLon when the box crosses the antimeridian; a box around a pole spans every longitude.
+    public record Box(double minLat, double maxLat, double minLon, double maxLon) {
+        public boolean crossesAntimeridian() {
+            return minLon > maxLon;
+        }
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        var hash = new StringBuilder(precision);
+        var even = true;
+        int bit = 0, ch = 0;
+        while (hash.length() < precision) {
+            if (even) {
+                var mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch |= 1 << (4 - bit);
+                    minLon = mid;
+                } else {
+                    maxLon = mid;
+                }
+            } else {
+                var mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch |= 1 << (4 - bit);
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+            even = !even;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // The smallest latitude/longitude box containing the circle.
+    public static Box box(double latitude, double longitude, double radiusMeters) {
+        var angle = radiusMeters / EARTH_RADIUS_METERS;
+        var dLat = Math.toDegrees(angle);
+        if (Math.abs(latitude) + dLat >= 90) {
+            return new Box(Math.max(-90, latitude - dLat), Math.min(90, latitude + dLat), -180, 180);
+        }
+        var dLon = Math.toDegrees(Math.asin(Math.min(1, Math.sin(angle) / Math.cos(Math.toRadians(latitude)))));
+        return new Box(latitude - dLat, latitude + dLat, wrap(longitude - dLon), wrap(longitude + dLon));
+    }
+
+    // Geohash ranges covering the circle, at the finest number of bits for which the cells intersecting the
+    // circle are at most maxCells. Cells are then close to the radius in size rather than a whole character
+    // coarser, and adjacent ones are merged into a single range.
+    public static List<Range> cover(double latitude, double longitude, double radiusMeters, int maxCells) {
+        var box = box(latitude, longitude, radiusMeters);
+        List<Long> best = List.of(0L);
+        var bestBits = 0;
+        for (int bits = 1; bits <= MAX_BITS; bits++) {
+            var cells = cells(box, latitude, longitude, radiusMeters, bits, maxCells);
+            if (cells == null) break;
+            best = cells;
+            bestBits = bits;
+        }
+        return ranges(best, bestBits);
+    }
+
+    public static double distance(double lat1, double lon1, double lat2, double lon2) {
+        var dLat = Math.toRadians(lat2 - lat1);
+        var dLon = Math.toRadians(lon2 - lon1);
+        var a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    // The sorted prefixes of the given number of bits whose cells intersect the circle, or null if there
+    // are more than maxCells of them.
+    private static List<Long> cells(Box box, double latitude, double longitude, double radiusMeters, int bits, int maxCells) {
+        int lonBits = (bits + 1) / 2, latBits = bits / 2;
+        double height = 180.0 / (1L << latBits), width = 360.0 / (1L << lonBits);
+        var lonCells = 1L << lonBits;
+        var firstRow = index(box.minLat() + 90, height, 1L << latBits);
+        var lastRow = index(box.maxLat() + 90, height, 1L << latBits);
+        var firstCol = index(box.minLon() + 180, width, lonCells);
+        var cols = box.minLon() == -180 && box.maxLon() == 180
+                ? lonCells
+                : Math.floorMod(index(box.maxLon() + 180, width, lonCells) - firstCol, lonCells) + 1;
+        if ((lastRow - firstRow + 1) * cols > 4L * maxCells) return null;
+
+        var cells = new ArrayList<Long>();
+        for (var row = firstRow; row <= lastRow; row++) {
+            var nearestLat = Math.max(-90 + row * height, Math.min(-90 + (row + 1) * height, latitude));
+            for (long c = 0; c < cols; c++) {
+                var col = (firstCol + c) % lonCells;
+                var west = -180 + col * width;
+                var nearestLon = longitude >= west && longitude <= west + width ? longitude
+                        : Math.abs(wrap(west - longitude)) < Math.abs(wrap(west + width - longitude)) ? west : west + width;
+                if (distance(latitude, longitude, nearestLat, nearestLon) > radiusMeters * PRUNE_MARGIN) continue;
+                if (cells.size() == maxCells) return null;
+                cells.add(interleave(col, row, bits));
+            }
+        }
+        cells.sort(null);
+        return cells;
+    }
+
+    private static List<Range> ranges(List<Long> cells, int bits) {
+        var ranges = new ArrayList<Range>();
+        long from = -1, to = -1;
+        for (var cell : cells) {
+            if (cell != to) {
+                if (from >= 0) ranges.add(range(from, to, bits));
+                from = cell;
+            }
+            to = cell + 1;
+        }
+        if (from >= 0) ranges.add(range(from, to, bits));
+        return ranges;
+    }
+
+    private static Range range(long from, long to, int bits) {
+        return new Range(hash(from << (MAX_BITS - bits)), to == 1L << bits ? null : hash(to << (MAX_BITS - bits)));
+    }
+
+    private static String hash(long value) {
+        var chars = new char[MAX_PRECISION];
+        for (int i = 0; i < MAX_PRECISION; i++) chars[i] = BASE32.charAt((int) (value >>> (MAX_BITS - 5 * (i + 1))) & 31);
+        return new String(chars);
+    }
+
+    // Bits alternate between longitude and latitude, starting with longitude.
+    private static long interleave(long col, long row, int bits) {
+        int lonBits = (bits + 1) / 2, latBits = bits / 2;
+        long value = 0;
+        for (int i = 0; i < bits; i++) {
+            var bit = i % 2 == 0 ? (col >>> (lonBits - 1 - i / 2)) & 1 : (row >>> (latBits - 1 - i / 2)) & 1;
+            value = value << 1 | bit;
+        }
+        return value;
+    }
+
+    private static long index(double offset, double size, long count) {
+        return Math.max(0, Math.min(count - 1, (long) Math.floor(offset / size)));
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude >= 180) return longitude - 360;
+        if (longitude < -180) return longitude + 360;
+        return longitude;
+    }
+}
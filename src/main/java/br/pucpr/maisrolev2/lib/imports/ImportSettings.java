@@ -0,0 +1,17 @@
+package br.pucpr.maisrolev2.lib.imports;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("imports")
+@Data
+public class ImportSettings {
+    private String directory = System.getProperty("java.io.tmpdir") + "/maisrole-imports";
+    private int workers = 2;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 500;
+    // Validated chunks waiting for the writer; the reader blocks once this many are in flight.
+    private int queueCapacity = 4;
+}
@@ -0,0 +1,17 @@
+package br.pucpr.maisrolev2.lib.json;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Boot registers every Module bean on its ObjectMapper. Blackbird replaces the reflective property
+    // accessors with generated lambdas, which matters for the response records serialized on every request.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,12 @@
+package br.pucpr.maisrolev2.lib.migration;
+
+// A one-off change to an existing database, applied once by MigrationRunner before Hibernate updates the
+// schema. Versions are global across the application. On a fresh database the tables do not exist yet and
+// Hibernate creates them in their final shape, so a migration should leave missing tables alone.
+public interface Migration {
+    int version();
+
+    String description();
+
+    void migrate(Schema schema);
+}
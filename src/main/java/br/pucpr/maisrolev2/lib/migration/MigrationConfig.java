@@ -0,0 +1,13 @@
+package br.pucpr.maisrolev2.lib.migration;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MigrationConfig {
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor migrationsBeforeEntityManagerFactory() {
+        return new EntityManagerFactoryDependsOnPostProcessor(MigrationRunner.class);
+    }
+}
@@ -0,0 +1,48 @@
+package br.pucpr.maisrolev2.lib.migration;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+// Applies the pending migrations in version order and records each one in schema_migration. The entity
+// manager factory depends on this bean (see MigrationConfig), so everything here runs before Hibernate
+// updates the schema and before any request is served.
+@Component
+public class MigrationRunner {
+    private static final String CREATE = "create table if not exists schema_migration "
+            + "(version int primary key, description varchar(255) not null, applied_at timestamp not null)";
+
+    private final JdbcTemplate jdbc;
+    private final List<Migration> migrations;
+
+    public MigrationRunner(DataSource dataSource, List<Migration> migrations) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(Migration::version)).toList();
+        var versions = new HashSet<Integer>();
+        for (var migration : this.migrations) {
+            if (!versions.add(migration.version())) {
+                throw new IllegalStateException("Duplicate migration version " + migration.version());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void migrate() {
+        jdbc.execute(CREATE);
+        var applied = new HashSet<>(jdbc.queryForList("select version from schema_migration", Integer.class));
+        var schema = new Schema(jdbc);
+        for (var migration : migrations) {
+            if (applied.contains(migration.version())) continue;
+            migration.migrate(schema);
+            jdbc.update("insert into schema_migration (version, description, applied_at) values (?, ?, ?)",
+                    migration.version(), migration.description(), Timestamp.from(Instant.now()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.pucpr.maisrolev2.lib.migration;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+// What migrations need to know about the database they run against. MySQL has no sequences, so Hibernate
+// keeps each one as a single-row table with a next_val column; other databases get real sequences.
+public class Schema {
+    private final JdbcTemplate jdbc;
+    private final boolean sequences;
+
+    Schema(JdbcTemplate jdbc) {
+        this(jdbc, !"MySQL".equalsIgnoreCase(jdbc.execute(
+                (ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName())));
+    }
+
+    Schema(JdbcTemplate jdbc, boolean sequences) {
+        this.jdbc = jdbc;
+        this.sequences = sequences;
+    }
+
+    public JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    public boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) c -> {
+            var meta = c.getMetaData();
+            try (var tables = meta.getTables(c.getCatalog(), c.getSchema(), identifier(meta, table), new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        }));
+    }
+
+    public boolean columnExists(String table, String column) {
+        return Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) c -> {
+            var meta = c.getMetaData();
+            try (var columns = meta.getColumns(c.getCatalog(), c.getSchema(), identifier(meta, table), identifier(meta, column))) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Makes the pooled generator behind sequence hand out ids above every id already in table. Hibernate
+    // reads the next value as the top of a block of allocationSize ids, hence the extra allocationSize.
+    public void startSequenceAbove(String sequence, String table, int allocationSize) {
+        var max = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        var next = max + allocationSize + 1;
+        if (sequences) {
+            var exists = jdbc.queryForObject("select count(*) from information_schema.sequences where lower(sequence_name) = ?",
+                    Long.class, sequence.toLowerCase(Locale.ROOT)) > 0;
+            jdbc.execute(exists
+                    ? "alter sequence " + sequence + " restart with " + next
+                    : "create sequence " + sequence + " start with " + next + " increment by " + allocationSize);
+        } else if (tableExists(sequence)) {
+            jdbc.update("update " + sequence + " set next_val = ? where next_val < ?", next, next);
+        } else {
+            jdbc.execute("create table " + sequence + " (next_val bigint)");
+            jdbc.update("insert into " + sequence + " (next_val) values (?)", next);
+        }
+    }
+
+    private static String identifier(DatabaseMetaData meta, String name) throws SQLException {
+        if (meta.storesUpperCaseIdentifiers()) return name.toUpperCase(Locale.ROOT);
+        if (meta.storesLowerCaseIdentifiers()) return name.toLowerCase(Locale.ROOT);
+        return name;
+    }
+}
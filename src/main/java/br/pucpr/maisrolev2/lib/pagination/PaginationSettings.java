@@ -0,0 +1,18 @@
+package br.pucpr.maisrolev2.lib.pagination;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties("pagination")
+@Data
+public class PaginationSettings {
+    private int defaultSize = 50;
+    private int maxSize = 200;
+
+    public int clamp(Integer size) {
+        if (size == null || size <= 0) return defaultSize;
+        return Math.min(size, maxSize);
+    }
+}
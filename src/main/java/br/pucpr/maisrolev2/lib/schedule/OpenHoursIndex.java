@@ -0,0 +1,124 @@
+package br.pucpr.maisrolev2.lib.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Slot-major bitsets over every indexed id: one row of words per weekly slot and one per tag. "Open at
+// slot s with tag t" is the AND of two rows, scanned a 64-id word at a time, and updating an id only
+// touches its own bit in each row. Tags are small integers (at most 32), e.g. enum ordinals.
+public class OpenHoursIndex {
+    public record Result(List<Long> ids, int total) {}
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> positions = new HashMap<>();
+    private final List<Integer> free = new ArrayList<>();
+    private long[] ids = new long[64];
+    private long[] present = new long[1];
+    private long[][] slots = new long[WeeklyBitmap.SLOTS][1];
+    private long[][] tags = new long[32][1];
+    private int size;
+
+    public void put(long id, byte[] bitmap, int tagMask) {
+        lock.writeLock().lock();
+        try {
+            var position = positions.computeIfAbsent(id, i -> allocate());
+            ids[position] = id;
+            var word = position >>> 6;
+            var bit = 1L << position;
+            present[word] |= bit;
+            for (int s = 0; s < WeeklyBitmap.SLOTS; s++) {
+                if (WeeklyBitmap.isOpen(bitmap, s)) slots[s][word] |= bit;
+                else slots[s][word] &= ~bit;
+            }
+            for (int t = 0; t < tags.length; t++) {
+                if ((tagMask & (1 << t)) != 0) tags[t][word] |= bit;
+                else tags[t][word] &= ~bit;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            var position = positions.remove(id);
+            if (position == null) return;
+            var word = position >>> 6;
+            var bit = ~(1L << position);
+            present[word] &= bit;
+            for (var row : slots) row[word] &= bit;
+            for (var row : tags) row[word] &= bit;
+            free.add(position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids open at the slot, in index order, skipping offset and returning at most limit of them;
+    // total counts every match. A negative tag matches any id.
+    public Result openAt(int slot, int tag, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            var open = slots[slot];
+            var filter = tag < 0 ? present : tags[tag];
+            var page = new ArrayList<Long>(Math.min(limit, 256));
+            var total = 0;
+            for (int w = 0; w < open.length; w++) {
+                var bits = open[w] & filter[w];
+                if (bits == 0) continue;
+                var count = Long.bitCount(bits);
+                if (total + count > offset && page.size() < limit) {
+                    while (bits != 0) {
+                        var position = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        if (total++ >= offset && page.size() < limit) page.add(ids[position]);
+                        bits &= bits - 1;
+                    }
+                } else {
+                    total += count;
+                }
+            }
+            return new Result(page, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) (slots.length + tags.length + 1) * present.length * Long.BYTES
+                    + (long) ids.length * Long.BYTES
+                    + positions.size() * 64L;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate() {
+        if (!free.isEmpty()) return free.remove(free.size() - 1);
+        var position = size++;
+        if (position == ids.length) ids = Arrays.copyOf(ids, ids.length * 2);
+        if (position >>> 6 == present.length) {
+            var words = present.length * 2;
+            present = Arrays.copyOf(present, words);
+            for (int s = 0; s < slots.length; s++) slots[s] = Arrays.copyOf(slots[s], words);
+            for (int t = 0; t < tags.length; t++) tags[t] = Arrays.copyOf(tags[t], words);
+        }
+        return position;
+    }
+}
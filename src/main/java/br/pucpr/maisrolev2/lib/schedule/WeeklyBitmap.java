@@ -0,0 +1,40 @@
+package br.pucpr.maisrolev2.lib.schedule;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// A week of 15-minute slots, Monday 00:00 first, one bit each: 672 bits stored as 84 bytes.
+public final class WeeklyBitmap {
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    public static final int SLOTS = 7 * SLOTS_PER_DAY;
+    public static final int BYTES = SLOTS / 8;
+
+    private WeeklyBitmap() {}
+
+    public static int slot(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * SLOTS_PER_DAY + (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    public static int slot(LocalDateTime at) {
+        return slot(at.getDayOfWeek(), at.toLocalTime());
+    }
+
+    // Marks the slots fully covered by [opens, closes). Closing at or before the opening time means
+    // the range runs past midnight, and past Sunday it wraps around to Monday.
+    public static void open(byte[] bitmap, DayOfWeek day, LocalTime opens, LocalTime closes) {
+        var start = (opens.toSecondOfDay() + SLOT_MINUTES * 60 - 1) / (SLOT_MINUTES * 60);
+        var closing = closes.toSecondOfDay() / (SLOT_MINUTES * 60);
+        var end = closes.isAfter(opens) ? closing : closing + SLOTS_PER_DAY;
+        var base = (day.getValue() - 1) * SLOTS_PER_DAY;
+        for (int s = start; s < end; s++) {
+            var slot = (base + s) % SLOTS;
+            bitmap[slot >>> 3] |= (byte) (1 << (slot & 7));
+        }
+    }
+
+    public static boolean isOpen(byte[] bitmap, int slot) {
+        return bitmap != null && (bitmap[slot >>> 3] & (1 << (slot & 7))) != 0;
+    }
+}
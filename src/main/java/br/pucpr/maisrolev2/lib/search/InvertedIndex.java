@@ -0,0 +1,192 @@
+package br.pucpr.maisrolev2.lib.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Term -> (document -> term frequency) postings ranked with BM25. Queries only touch the postings of
+// their own terms, so their cost follows the number of matches rather than the number of documents.
+public class InvertedIndex {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // A one-letter prefix could expand to most of the dictionary. Past this many terms a prefix keeps the
+    // term itself and the terms found in the most documents, and the truncation is counted.
+    public static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder truncatedPrefixes;
+    private long totalLength;
+
+    public InvertedIndex() {
+        this(new LongAdder());
+    }
+
+    InvertedIndex(LongAdder truncatedPrefixes) {
+        this.truncatedPrefixes = truncatedPrefixes;
+    }
+
+    public static String[] tokenize(String text) {
+        if (text == null) return new String[0];
+        var folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded)).filter(t -> !t.isEmpty()).toArray(String[]::new);
+    }
+
+    public void put(Long id, String text) {
+        var terms = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (terms.length == 0) return;
+            documents.put(id, terms);
+            totalLength += terms.length;
+            for (var term : terms) postings.computeIfAbsent(term, t -> new HashMap<>()).merge(id, 1, Integer::sum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every query term has to match. With prefix set, the last term also matches indexed terms that
+    // start with it, which is what a typeahead box sends while the user is still typing.
+    public List<SearchHit> search(String query, boolean prefix) {
+        var terms = tokenize(query);
+        if (terms.length == 0) return List.of();
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) return List.of();
+            var avgLength = (double) totalLength / documents.size();
+
+            var clauses = new ArrayList<Map<String, Map<Long, Integer>>>();
+            for (int i = 0; i < terms.length; i++) {
+                var expansions = prefix && i == terms.length - 1 ? expand(terms[i]) : exact(terms[i]);
+                if (expansions.isEmpty()) return List.of();
+                clauses.add(expansions);
+            }
+            // Start from the rarest clause so the candidate set is as small as possible from the beginning.
+            clauses.sort(Comparator.comparingInt(InvertedIndex::matches));
+
+            Map<Long, Double> scores = null;
+            for (var clause : clauses) {
+                var clauseScores = new HashMap<Long, Double>();
+                for (var entry : clause.entrySet()) {
+                    var termPostings = entry.getValue();
+                    var idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    if (scores == null) {
+                        termPostings.forEach((id, tf) -> clauseScores.merge(id, bm25(idf, tf, id, avgLength), Double::sum));
+                    } else {
+                        for (var id : scores.keySet()) {
+                            var tf = termPostings.get(id);
+                            if (tf != null) clauseScores.merge(id, bm25(idf, tf, id, avgLength), Double::sum);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    var previous = scores;
+                    clauseScores.replaceAll((id, score) -> score + previous.get(id));
+                }
+                scores = clauseScores;
+                if (scores.isEmpty()) return List.of();
+            }
+            return scores.entrySet().stream()
+                    .map(e -> new SearchHit(e.getKey(), e.getValue()))
+                    .sorted(Comparator.comparingDouble(SearchHit::score).reversed().thenComparing(SearchHit::id))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long truncatedPrefixes() {
+        return truncatedPrefixes.sum();
+    }
+
+    public int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Rough heap estimate from typical JVM object sizes (compressed oops): tree and hash map entries,
+    // boxed keys and values, and the term strings.
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (var entry : postings.entrySet()) {
+                bytes += 40 + 56 + 2L * entry.getKey().length() + 64 + 48L * entry.getValue().size();
+            }
+            for (var terms : documents.values()) bytes += 48 + 16 + 4L * terms.length;
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Map<Long, Integer>> exact(String term) {
+        var termPostings = postings.get(term);
+        return termPostings == null ? Map.of() : Map.of(term, termPostings);
+    }
+
+    private Map<String, Map<Long, Integer>> expand(String prefix) {
+        var matching = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (matching.size() <= MAX_PREFIX_EXPANSIONS) return matching;
+        truncatedPrefixes.increment();
+        var expansions = new HashMap<String, Map<Long, Integer>>();
+        var exact = postings.get(prefix);
+        if (exact != null) expansions.put(prefix, exact);
+        matching.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(prefix))
+                .sorted(Comparator.comparingInt((Map.Entry<String, Map<Long, Integer>> entry) -> entry.getValue().size())
+                        .reversed().thenComparing(Map.Entry::getKey))
+                .limit(MAX_PREFIX_EXPANSIONS - expansions.size())
+                .forEach(entry -> expansions.put(entry.getKey(), entry.getValue()));
+        return expansions;
+    }
+
+    private static int matches(Map<String, Map<Long, Integer>> clause) {
+        return clause.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private double bm25(double idf, int tf, Long id, double avgLength) {
+        var length = documents.get(id).length;
+        return idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    private void removeLocked(Long id) {
+        var terms = documents.remove(id);
+        if (terms == null) return;
+        totalLength -= terms.length;
+        for (var term : new HashSet<>(Arrays.asList(terms))) {
+            var termPostings = postings.get(term);
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) postings.remove(term);
+        }
+    }
+}
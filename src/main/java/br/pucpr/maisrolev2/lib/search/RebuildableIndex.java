@@ -0,0 +1,61 @@
+package br.pucpr.maisrolev2.lib.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// An InvertedIndex that can be rebuilt from the database while it keeps serving. The replacement is
+// built off to the side and swapped in whole. Updates that arrive during the build go to the live index
+// and are also queued, then replayed on the replacement before the swap, so none is lost whether or not
+// the rebuild's snapshot already saw it. Replaying is safe because put and remove are idempotent.
+public class RebuildableIndex {
+    private final LongAdder truncatedPrefixes = new LongAdder();
+    private volatile InvertedIndex current = new InvertedIndex(truncatedPrefixes);
+    private List<Consumer<InvertedIndex>> pending;
+
+    public InvertedIndex current() {
+        return current;
+    }
+
+    public synchronized void put(Long id, String text) {
+        apply(index -> index.put(id, text));
+    }
+
+    public synchronized void remove(Long id) {
+        apply(index -> index.remove(id));
+    }
+
+    // Concurrent rebuilds are not useful; a call made while one is running returns false straight away.
+    public boolean rebuild(Consumer<InvertedIndex> load) {
+        synchronized (this) {
+            if (pending != null) return false;
+            pending = new ArrayList<>();
+        }
+        var next = new InvertedIndex(truncatedPrefixes);
+        try {
+            load.accept(next);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach(update -> update.accept(next));
+            pending = null;
+            current = next;
+        }
+        return true;
+    }
+
+    // Prefix queries that matched more than InvertedIndex.MAX_PREFIX_EXPANSIONS terms, across rebuilds.
+    public long truncatedPrefixes() {
+        return truncatedPrefixes.sum();
+    }
+
+    private void apply(Consumer<InvertedIndex> update) {
+        update.accept(current);
+        if (pending != null) pending.add(update);
+    }
+}
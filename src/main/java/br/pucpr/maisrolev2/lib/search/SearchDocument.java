@@ -0,0 +1,3 @@
+package br.pucpr.maisrolev2.lib.search;
+
+public record SearchDocument(Long id, String text) {}
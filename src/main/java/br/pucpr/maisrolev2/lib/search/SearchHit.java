@@ -0,0 +1,3 @@
+package br.pucpr.maisrolev2.lib.search;
+
+public record SearchHit(Long id, double score) {}
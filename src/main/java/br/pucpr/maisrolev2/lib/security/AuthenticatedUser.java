@@ -0,0 +1,11 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import java.security.Principal;
+import java.util.List;
+
+public record AuthenticatedUser(Long id, List<String> roles) implements Principal {
+    @Override
+    public String getName() {
+        return id.toString();
+    }
+}
@@ -1,10 +1,15 @@
 package br.pucpr.maisrolev2.lib.security;
 
+import br.pucpr.maisrolev2.rest.Role;
 import br.pucpr.maisrolev2.rest.users.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.jackson.io.JacksonDeserializer;
 import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -12,9 +17,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 @Component
@@ -22,31 +31,75 @@ public class JWT {
     private static SecuritySettings settings;
     private static String PREFIX = "Bearer";
 
-    public JWT(SecuritySettings settings) {
+    // Token layout: "sub" carries the user id, "rol" the role names and "ver" the layout version.
+    private static final int CLAIMS_VERSION = 1;
+    private static final String VERSION_CLAIM = "ver";
+    private static final String ROLES_CLAIM = "rol";
+
+    // Built once from the settings: the key, parser and serializer are immutable and thread-safe,
+    // so every request reuses them instead of rebuilding the jjwt/Jackson machinery.
+    private static SecretKey key;
+    private static JwtParser parser;
+    private static JacksonSerializer<Map<String, ?>> serializer;
+    private static Timer verifyTimer;
+    private static Timer createTimer;
+
+    public JWT(SecuritySettings settings, MeterRegistry registry) {
         JWT.settings = settings;
+        JWT.key = Keys.hmacShaKeyFor(settings.getSecret().getBytes(StandardCharsets.UTF_8));
+        JWT.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .deserializeJsonWith(new JacksonDeserializer<>())
+                .build();
+        JWT.serializer = new JacksonSerializer<>();
+        JWT.verifyTimer = Timer.builder("jwt.verify").description("Token signature check and claims parsing").register(registry);
+        JWT.createTimer = Timer.builder("jwt.create").description("Token signing").register(registry);
     }
 
     public static Authentication extract(HttpServletRequest req) {
+        final var token = resolveToken(req);
+        if (token == null) return null;
+        return toAuthentication(verify(token));
+    }
+
+    public static String resolveToken(HttpServletRequest req) {
         final var header = req.getHeader(HttpHeaders.AUTHORIZATION);
         if (header == null || !header.startsWith(PREFIX)) return null;
+        return header.replace(PREFIX, "").trim();
+    }
 
-        final var token = header.replace(PREFIX, "").trim();
-        final var claims = Jwts.parserBuilder()
-                .setSigningKey(settings.getSecret().getBytes())
-                .deserializeJsonWith(new JacksonDeserializer<>(Map.of("user", User.class)))
-                .build()
+    public static Claims verify(String token) {
+        return verifyTimer.record(() -> parser
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
+    }
 
+    public static Authentication toAuthentication(Claims claims) {
         if (!settings.getIssuer().equals(claims.getIssuer())) return null;
+        if (claims.getSubject() == null) return null;
 
-        final var user = claims.get("user", User.class);
-        if (user == null) return null;
+        final var version = claims.get(VERSION_CLAIM, Integer.class);
+        final List<String> roles;
+        if (version == null) {
+            // Tokens issued before the versioned layout embed the whole user under "user".
+            if (!(claims.get("user") instanceof Map<?, ?> user)) return null;
+            roles = names(user.get("roles"));
+        } else if (version == CLAIMS_VERSION) {
+            roles = names(claims.get(ROLES_CLAIM));
+        } else {
+            return null;
+        }
 
-        final var authorities = user.getRoles().stream()
+        final var principal = new AuthenticatedUser(Long.valueOf(claims.getSubject()), roles);
+        final var authorities = roles.stream()
                 .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
                 .toList();
-        return UsernamePasswordAuthenticationToken.authenticated(user, user.getId(), authorities);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, principal.id(), authorities);
+    }
+
+    private static List<String> names(Object claim) {
+        if (!(claim instanceof Collection<?> values)) return List.of();
+        return values.stream().map(String::valueOf).toList();
     }
 
     public static Date toDate(LocalDate date) {
@@ -54,15 +107,17 @@ public class JWT {
     }
     public String createToken(User user) {
         final var now = LocalDate.now();
-        settings.setUser(user);
-        return Jwts.builder()
-                .signWith(Keys.hmacShaKeyFor(settings.getSecret().getBytes()))
-                .serializeToJsonWith(new JacksonSerializer<>())
+        return createTimer.record(() -> Jwts.builder()
+                .signWith(key)
+                .serializeToJsonWith(serializer)
                 .setIssuedAt(toDate(now))
                 .setExpiration(toDate(now.plusDays(2)))
-                .setIssuer("Mais Role")
-                .setSubject(settings.getUser().getId().toString())
-                .addClaims(Map.of("user", settings.getUser()))
-                .compact();
+                .setIssuer(settings.getIssuer())
+                .setSubject(user.getId().toString())
+                .addClaims(Map.of(
+                        VERSION_CLAIM, CLAIMS_VERSION,
+                        ROLES_CLAIM, user.getRoles().stream().map(Role::name).toList()
+                ))
+                .compact());
     }
 }
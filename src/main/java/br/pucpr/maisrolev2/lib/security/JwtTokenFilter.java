@@ -13,10 +13,16 @@ import java.io.IOException;
 
 @Component
 public class JwtTokenFilter extends GenericFilterBean {
+    private final TokenCache tokenCache;
+
+    public JwtTokenFilter(TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
 
     @Override
     public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
-        var auth = JWT.extract((HttpServletRequest) req);
+        var token = JWT.resolveToken((HttpServletRequest) req);
+        var auth = token == null ? null : tokenCache.authenticate(token);
         if (auth == null) {
             chain.doFilter(req, res);
             return;
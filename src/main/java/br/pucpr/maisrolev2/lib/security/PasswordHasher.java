@@ -0,0 +1,111 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import br.pucpr.maisrolev2.lib.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Runs password hashing on its own bounded pool so a burst of logins can only use passwordThreads
+// cores; once passwordQueueCapacity checks are waiting, new ones are shed with a 503 instead of queueing.
+// Bulk imports hash on a second pool of bulkPasswordThreads, so a large batch neither sheds logins nor
+// takes over the common ForkJoin pool.
+@Component
+public class PasswordHasher implements MeterBinder {
+    // Same shape BCryptPasswordEncoder accepts: version, two-digit cost, 22 characters of salt and 31 of hash.
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHasher(PasswordEncoder encoder, SecuritySettings settings) {
+        this.encoder = encoder;
+        this.executor = pool("password-hash-", settings.getPasswordThreads(),
+                settings.getPasswordQueueCapacity(), new ThreadPoolExecutor.AbortPolicy());
+        // A full queue makes the submitting request thread hash too, which slows that batch down
+        // instead of failing it.
+        this.bulkExecutor = pool("password-bulk-hash-", settings.getBulkPasswordThreads(),
+                settings.getBulkPasswordThreads() * 4, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    public record Verification(boolean matches, String upgradedHash) {}
+
+    // Stored passwords that are not well-formed BCrypt hashes are legacy plaintext. On a match against one of those, or
+    // against a hash of a lower strength than configured, upgradedHash holds the hash to store instead.
+    public CompletableFuture<Verification> verify(String raw, String stored) {
+        return submit(() -> {
+            if (raw == null || stored == null) return new Verification(false, null);
+            if (!BCRYPT.matcher(stored).matches()) {
+                var matches = MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+                return new Verification(matches, matches ? encoder.encode(raw) : null);
+            }
+            if (!encoder.matches(raw, stored)) return new Verification(false, null);
+            return new Verification(true, encoder.upgradeEncoding(stored) ? encoder.encode(raw) : null);
+        });
+    }
+
+    public CompletableFuture<String> hash(String raw) {
+        return submit(() -> encoder.encode(raw));
+    }
+
+    // Hashes a batch on the bulk pool and waits for all of it; the hashes are in the order of raws.
+    public List<String> hashAll(List<String> raws) {
+        var hashes = raws.stream()
+                .map(raw -> CompletableFuture.supplyAsync(() -> encoder.encode(raw), bulkExecutor))
+                .toList();
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "passwords.hash", Tags.empty()).bindTo(registry);
+        new ExecutorServiceMetrics(bulkExecutor, "passwords.bulk.hash", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("passwords.hash.rejected", rejected, AtomicLong::get)
+                .description("Password checks shed because the hashing queue was full")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private static ThreadPoolExecutor pool(String name, int threads, int queueCapacity, RejectedExecutionHandler handler) {
+        var count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), r -> {
+            var thread = new Thread(r, name + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, handler);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new ServiceUnavailableException("Too many logins in progress, try again later.", e);
+        }
+    }
+}
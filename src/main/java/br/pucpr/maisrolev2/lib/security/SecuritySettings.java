@@ -11,7 +11,7 @@ import org.springframework.context.annotation.PropertySource;
 
 @Configuration
 @ConfigurationProperties("security")
-@PropertySource("/security.properties")
+@PropertySource("classpath:security.properties")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,4 +23,10 @@ public class SecuritySettings {
     private boolean testUserAllowed = false;
     private String token;
     private User user;
+    private long tokenCacheSize = 10_000;
+    private int passwordStrength = 10;
+    private int passwordThreads = Runtime.getRuntime().availableProcessors();
+    private int passwordQueueCapacity = 64;
+    // Threads hashing the passwords of bulk imports, kept apart from the login pool.
+    private int bulkPasswordThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
 }
@@ -0,0 +1,92 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+// Verified bearer tokens keyed by their SHA-256, expiring at the token's exp claim or by size (LRU).
+// The cache runs on a wall-clock ticker, nanoseconds since the epoch, so exp converts directly into the
+// time Caffeine compares entries against.
+@Component
+public class TokenCache implements MeterBinder {
+    static final Ticker WALL_CLOCK = () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+    private final Cache<String, Verified> cache;
+
+    @Autowired
+    public TokenCache(SecuritySettings settings) {
+        this(settings, WALL_CLOCK);
+    }
+
+    TokenCache(SecuritySettings settings, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getTokenCacheSize())
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, Verified>() {
+                    @Override
+                    public long expireAfterCreate(String key, Verified value, long currentTime) {
+                        return Math.max(0, value.expiresAt() - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Verified value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Verified value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Authentication authenticate(String token) {
+        final var key = digest(token);
+        final var cached = cache.getIfPresent(key);
+        if (cached != null) return cached.authentication();
+
+        final var claims = JWT.verify(token);
+        final var auth = JWT.toAuthentication(claims);
+        if (auth != null && claims.getExpiration() != null) {
+            cache.put(key, new Verified(auth, TimeUnit.MILLISECONDS.toNanos(claims.getExpiration().getTime())));
+        }
+        return auth;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.tokens");
+    }
+
+    private static String digest(String token) {
+        try {
+            final var sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // expiresAt is in WALL_CLOCK nanoseconds.
+    private record Verified(Authentication authentication, long expiresAt) {}
+}
@@ -0,0 +1,34 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_event_starts_ends", columnList = "starts_at, ends_at"),
+        @Index(name = "idx_event_type_starts_ends", columnList = "type, starts_at, ends_at")
+})
+@Data
+@NoArgsConstructor
+public class Event {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
+    private Long id;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    private Host host;
+    private String name;
+    @Column(length = 2000)
+    private String description;
+    @Enumerated(EnumType.STRING)
+    private HostType type;
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+}
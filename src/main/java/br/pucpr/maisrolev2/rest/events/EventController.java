@@ -0,0 +1,75 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.lib.pagination.PaginationSettings;
+import br.pucpr.maisrolev2.rest.events.requests.EventRequest;
+import br.pucpr.maisrolev2.rest.events.responses.EventResponse;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/events")
+public class EventController {
+    private final EventService service;
+    private final PaginationSettings pagination;
+
+    public EventController(EventService service, PaginationSettings pagination) {
+        this.service = service;
+        this.pagination = pagination;
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Events in a time window",
+            description = "Retrieves the events overlapping [from, to), optionally of one type, ordered by start."
+    )
+    public ResponseEntity<CollectionModel<EventResponse>> getEvents(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) HostType type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var events = service.getEvents(from, to, type, page, limit).map(EventResponse::of);
+        var body = CollectionModel.of(events.getContent(),
+                linkTo(methodOn(EventController.class).getEvents(from, to, type, page, limit)).withSelfRel());
+        if (events.hasNext()) {
+            body.add(linkTo(methodOn(EventController.class).getEvents(from, to, type, page + 1, limit))
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<EventResponse> getEvent(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(EventResponse.of(service.getEvent(id)));
+    }
+
+    @PostMapping
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    public ResponseEntity<EventResponse> create(@Valid @RequestBody EventRequest req) {
+        return new ResponseEntity<>(EventResponse.of(service.create(req)), HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{id}")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    public ResponseEntity<Void> delete(@PathVariable("id") Long id) {
+        service.delete(id);
+        return ResponseEntity.ok().build();
+    }
+}
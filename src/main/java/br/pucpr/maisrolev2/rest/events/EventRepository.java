@@ -0,0 +1,24 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EventRepository extends JpaRepository<Event, Long> {
+    // earliest is from minus the maximum event duration: nothing starting before it can still be running
+    // at from, so the scan on idx_event_starts_ends is bounded on both ends.
+    @Query("select e from Event e" +
+            " where e.startsAt >= :earliest and e.startsAt < :to and e.endsAt > :from")
+    Slice<Event> findOverlapping(LocalDateTime earliest, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    @Query("select e from Event e" +
+            " where e.type = :type and e.startsAt >= :earliest and e.startsAt < :to and e.endsAt > :from")
+    Slice<Event> findOverlapping(HostType type, LocalDateTime earliest, LocalDateTime from, LocalDateTime to,
+                                 Pageable pageable);
+}
@@ -0,0 +1,66 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.rest.events.requests.EventRequest;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+public class EventService {
+    private final EventRepository eventRepository;
+    private final HostRepository hostRepository;
+    private final EventSettings settings;
+
+    public EventService(EventRepository eventRepository, HostRepository hostRepository, EventSettings settings) {
+        this.eventRepository = eventRepository;
+        this.hostRepository = hostRepository;
+        this.settings = settings;
+    }
+
+    @Transactional
+    public Event create(EventRequest req) {
+        if (!req.getEndsAt().isAfter(req.getStartsAt()))
+            throw new BadRequestException("Event must end after it starts.");
+        if (req.getStartsAt().plus(settings.getMaxDuration()).isBefore(req.getEndsAt()))
+            throw new BadRequestException("Events can last at most " + settings.getMaxDuration().toHours() + " hours.");
+
+        var event = new Event();
+        event.setHost(hostRepository.findById(req.getHostId())
+                .orElseThrow(() -> new NotFoundException(req.getHostId(), "Host not found.")));
+        event.setName(req.getName());
+        event.setDescription(req.getDescription());
+        event.setType(req.getType());
+        event.setStartsAt(req.getStartsAt());
+        event.setEndsAt(req.getEndsAt());
+        return eventRepository.save(event);
+    }
+
+    public Event getEvent(Long id) {
+        return eventRepository.findById(id).orElseThrow(() -> new NotFoundException(id, "Event not found."));
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        eventRepository.delete(getEvent(id));
+    }
+
+    // Events that overlap [from, to), ordered by start.
+    @Transactional(readOnly = true)
+    public Slice<Event> getEvents(LocalDateTime from, LocalDateTime to, HostType type, int page, int size) {
+        if (!to.isAfter(from)) throw new BadRequestException("'to' must be after 'from'.");
+        if (page < 0) throw new BadRequestException("Page must not be negative.");
+        var earliest = from.minus(settings.getMaxDuration());
+        var pageable = PageRequest.of(page, size, Sort.by("startsAt", "id"));
+        return type == null
+                ? eventRepository.findOverlapping(earliest, from, to, pageable)
+                : eventRepository.findOverlapping(type, earliest, from, to, pageable);
+    }
+}
@@ -0,0 +1,15 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties("events")
+@Data
+public class EventSettings {
+    // Upper bound on event length; it is what lets overlap queries be a bounded range scan on starts_at.
+    private Duration maxDuration = Duration.ofDays(7);
+}
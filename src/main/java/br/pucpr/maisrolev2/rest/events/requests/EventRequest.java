@@ -0,0 +1,31 @@
+package br.pucpr.maisrolev2.rest.events.requests;
+
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class EventRequest {
+    @NotNull
+    @Schema(example = "1")
+    private Long hostId;
+    @NotBlank
+    @Schema(example = "Friday jazz night")
+    private String name;
+    @Size(max = 2000)
+    private String description;
+    @NotNull
+    @Schema(example = "BAR")
+    private HostType type;
+    @NotNull
+    @Schema(example = "2023-06-02T21:00:00")
+    private LocalDateTime startsAt;
+    @NotNull
+    @Schema(example = "2023-06-03T02:00:00")
+    private LocalDateTime endsAt;
+}
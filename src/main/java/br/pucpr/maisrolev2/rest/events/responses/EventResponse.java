@@ -0,0 +1,15 @@
+package br.pucpr.maisrolev2.rest.events.responses;
+
+import br.pucpr.maisrolev2.rest.events.Event;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+
+import java.time.LocalDateTime;
+
+public record EventResponse(Long id, Long hostId, String name, String description, HostType type,
+                            LocalDateTime startsAt, LocalDateTime endsAt) {
+    // The host is a lazy reference; reading its id does not load it.
+    public static EventResponse of(Event event) {
+        return new EventResponse(event.getId(), event.getHost() == null ? null : event.getHost().getId(),
+                event.getName(), event.getDescription(), event.getType(), event.getStartsAt(), event.getEndsAt());
+    }
+}
@@ -1,12 +1,25 @@
 package br.pucpr.maisrolev2.rest.hosts;
 
+import br.pucpr.maisrolev2.lib.geo.GeoHash;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 
 @Entity @Data
+@Table(indexes = @Index(name = "idx_address_geohash_position", columnList = "geohash, latitude, longitude"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "address")
 public class Address {
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "address_seq")
+    @SequenceGenerator(name = "address_seq", sequenceName = "address_seq", allocationSize = 50)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
     private String street;
     private String number;
@@ -14,5 +27,19 @@ public class Address {
     private String district;
     private String city;
     private String state;
+    @DecimalMin("-90") @DecimalMax("90")
+    private Double latitude;
+    @DecimalMin("-180") @DecimalMax("180")
+    private Double longitude;
+    @JsonIgnore
+    @Column(length = GeoHash.MAX_PRECISION)
+    private String geohash;
 
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = latitude == null || longitude == null
+                ? null
+                : GeoHash.encode(latitude, longitude, GeoHash.MAX_PRECISION);
+    }
 }
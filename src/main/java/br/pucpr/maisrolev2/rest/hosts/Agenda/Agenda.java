@@ -1,10 +1,58 @@
 package br.pucpr.maisrolev2.rest.hosts.Agenda;
 
-import jakarta.persistence.Entity;
-import jakarta.persistence.Id;
+import br.pucpr.maisrolev2.lib.schedule.WeeklyBitmap;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import jakarta.validation.Valid;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@Data
+@NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "agenda")
 public class Agenda {
     @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "agenda_seq")
+    @SequenceGenerator(name = "agenda_seq", sequenceName = "agenda_seq", allocationSize = 50)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     private Long id;
+
+    @ElementCollection
+    @CollectionTable(name = "agenda_opening_hours")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "agenda.openingHours")
+    @Valid
+    private List<OpeningHours> openingHours = new ArrayList<>();
+
+    // The opening hours compiled to WeeklyBitmap slots, so the open-hosts index never reads the rows above.
+    @JsonIgnore
+    @Column(length = WeeklyBitmap.BYTES)
+    private byte[] weeklySlots;
+
+    public Agenda(List<OpeningHours> openingHours) {
+        setOpeningHours(openingHours);
+    }
+
+    public void setOpeningHours(List<OpeningHours> openingHours) {
+        this.openingHours = openingHours == null ? new ArrayList<>() : new ArrayList<>(openingHours);
+        compile();
+    }
+
+    @PrePersist
+    @PreUpdate
+    void compile() {
+        var slots = new byte[WeeklyBitmap.BYTES];
+        for (var hours : openingHours) {
+            if (hours.getDay() == null || hours.getOpens() == null || hours.getCloses() == null) continue;
+            WeeklyBitmap.open(slots, hours.getDay().toDayOfWeek(), hours.getOpens(), hours.getCloses());
+        }
+        weeklySlots = slots;
+    }
 }
@@ -0,0 +1,124 @@
+package br.pucpr.maisrolev2.rest.hosts.Agenda;
+
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.lib.schedule.OpenHoursIndex;
+import br.pucpr.maisrolev2.lib.schedule.WeeklyBitmap;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Objects;
+
+@Service
+public class AgendaService implements MeterBinder {
+    private final OpenHoursIndex index = new OpenHoursIndex();
+    private final HostRepository hostRepository;
+    private final AgendaSettings settings;
+
+    public AgendaService(HostRepository hostRepository, AgendaSettings settings) {
+        this.hostRepository = hostRepository;
+        this.settings = settings;
+    }
+
+    // Only the compiled bitmaps are read; a host with several types comes back as consecutive rows.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        try (var rows = hostRepository.streamSchedules()) {
+            var current = new Object() {
+                Long id;
+                byte[] slots;
+                int types;
+            };
+            rows.forEach(row -> {
+                if (!row.hostId().equals(current.id)) {
+                    if (current.id != null) index.put(current.id, current.slots, current.types);
+                    current.id = row.hostId();
+                    current.slots = row.weeklySlots();
+                    current.types = 0;
+                }
+                if (row.type() != null) current.types |= 1 << row.type().ordinal();
+            });
+            if (current.id != null) index.put(current.id, current.slots, current.types);
+        }
+    }
+
+    // Like the search index, the bitmaps change only once the surrounding transaction has committed.
+    public void hostSaved(Host host) {
+        var slots = host.getAgenda() == null ? null : host.getAgenda().getWeeklySlots();
+        var types = typeMask(host.getHostTypes());
+        var id = host.getId();
+        afterCommit(() -> {
+            if (slots == null) index.remove(id);
+            else index.put(id, slots, types);
+        });
+    }
+
+    @Transactional
+    public HostResponse updateAgenda(Long hostId, Agenda agenda) {
+        var host = hostRepository.findDetailedById(hostId)
+                .orElseThrow(() -> new NotFoundException(hostId, "Host not found."));
+        if (host.getAgenda() == null) host.setAgenda(new Agenda(agenda.getOpeningHours()));
+        else host.getAgenda().setOpeningHours(agenda.getOpeningHours());
+        hostRepository.save(host);
+        hostSaved(host);
+        return HostResponse.of(host);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HostResponse> openAt(LocalDateTime at, HostType type, int page, int size) {
+        if (page < 0) throw new BadRequestException("Page must not be negative.");
+        var when = at == null ? LocalDateTime.now(settings.getZone()) : at;
+        var pageable = PageRequest.of(page, size);
+        var open = index.openAt(WeeklyBitmap.slot(when), type == null ? -1 : type.ordinal(),
+                pageable.getOffset(), size);
+        var hosts = hostRepository.findResponsesByIdIn(open.ids());
+        var content = open.ids().stream().map(hosts::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, open.total());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("agenda.index.memory", index, OpenHoursIndex::estimatedBytes)
+                .description("Estimated heap used by the opening hours index")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("agenda.index.hosts", index, OpenHoursIndex::size)
+                .register(registry);
+    }
+
+    private static int typeMask(Collection<HostType> types) {
+        var mask = 0;
+        if (types != null) for (var type : types) mask |= 1 << type.ordinal();
+        return mask;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
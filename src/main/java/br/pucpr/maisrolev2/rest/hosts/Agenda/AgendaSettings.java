@@ -0,0 +1,15 @@
+package br.pucpr.maisrolev2.rest.hosts.Agenda;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+@Configuration
+@ConfigurationProperties("agenda")
+@Data
+public class AgendaSettings {
+    // Opening hours are wall-clock times in this zone; "open now" is evaluated in it too.
+    private ZoneId zone = ZoneId.systemDefault();
+}
@@ -0,0 +1,6 @@
+package br.pucpr.maisrolev2.rest.hosts.Agenda;
+
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+
+// One row per host type (type is null for hosts without any), ordered by host.
+public record HostSchedule(Long hostId, byte[] weeklySlots, HostType type) {}
@@ -0,0 +1,31 @@
+package br.pucpr.maisrolev2.rest.hosts.Agenda;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+
+// Closing at or before the opening time means the host stays open past midnight.
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpeningHours {
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "week_day")
+    private WeekDays day;
+    @NotNull
+    @Schema(type = "string", example = "18:00")
+    private LocalTime opens;
+    @NotNull
+    @Schema(type = "string", example = "02:00")
+    private LocalTime closes;
+}
@@ -0,0 +1,28 @@
+package br.pucpr.maisrolev2.rest.hosts.Agenda;
+
+import br.pucpr.maisrolev2.lib.migration.Migration;
+import br.pucpr.maisrolev2.lib.migration.Schema;
+import org.springframework.stereotype.Component;
+
+// OpeningHours.day used to be stored in a column named day, which H2 reserves. Renaming it keeps the
+// existing rows; left to Hibernate, week_day would be added empty next to the old column.
+@Component
+public class OpeningHoursWeekDayMigration implements Migration {
+    @Override
+    public int version() {
+        return 4;
+    }
+
+    @Override
+    public String description() {
+        return "Rename agenda_opening_hours.day to week_day";
+    }
+
+    @Override
+    public void migrate(Schema schema) {
+        if (!schema.tableExists("agenda_opening_hours")) return;
+        if (!schema.columnExists("agenda_opening_hours", "day")) return;
+        if (schema.columnExists("agenda_opening_hours", "week_day")) return;
+        schema.jdbc().execute("alter table agenda_opening_hours rename column day to week_day");
+    }
+}
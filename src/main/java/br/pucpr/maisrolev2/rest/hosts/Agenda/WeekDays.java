@@ -1,5 +1,11 @@
 package br.pucpr.maisrolev2.rest.hosts.Agenda;
 
+import java.time.DayOfWeek;
+
 public enum WeekDays {
+    MONDAY, TUESDAY, WEDNESDAY, THURSDAY, FRIDAY, SATURDAY, SUNDAY;
 
+    public DayOfWeek toDayOfWeek() {
+        return DayOfWeek.of(ordinal() + 1);
+    }
 }
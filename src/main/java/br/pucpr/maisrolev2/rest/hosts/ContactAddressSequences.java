@@ -0,0 +1,28 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+import br.pucpr.maisrolev2.lib.migration.Migration;
+import br.pucpr.maisrolev2.lib.migration.Schema;
+import org.springframework.stereotype.Component;
+
+// Contact and Address ids used to be assigned by clients, so their new sequences have to start above
+// the ids already taken. The allocation size matches the @SequenceGenerator on both entities.
+@Component
+public class ContactAddressSequences implements Migration {
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public String description() {
+        return "Start contact_seq and address_seq above the existing ids";
+    }
+
+    @Override
+    public void migrate(Schema schema) {
+        if (schema.tableExists("contact")) schema.startSequenceAbove("contact_seq", "contact", ALLOCATION_SIZE);
+        if (schema.tableExists("address")) schema.startSequenceAbove("address_seq", "address", ALLOCATION_SIZE);
+    }
+}
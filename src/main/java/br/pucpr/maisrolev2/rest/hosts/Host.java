@@ -1,19 +1,38 @@
 package br.pucpr.maisrolev2.rest.hosts;
 
+import br.pucpr.maisrolev2.rest.hosts.Agenda.Agenda;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 @Entity
+@NamedEntityGraph(name = Host.DETAIL, attributeNodes = {
+        @NamedAttributeNode("hostTypes"),
+        @NamedAttributeNode("contact"),
+        @NamedAttributeNode("address"),
+        @NamedAttributeNode("agenda")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "host")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Host {
-    @Id @GeneratedValue
+    // Everything HostResponse reads but the agenda's opening hours. Hibernate 6.1 rejects an element
+    // collection in a subgraph, so those are loaded by one more statement per batch of agendas
+    // (default_batch_fetch_size), whether the graph loaded one host or a page of them.
+    public static final String DETAIL = "Host.detail";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "host_seq")
+    @SequenceGenerator(name = "host_seq", sequenceName = "host_seq", allocationSize = 50)
     private Long id;
     private String password;
 
@@ -22,15 +41,17 @@ public class Host {
 
     @Enumerated(EnumType.STRING)
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "host.hostTypes")
     private Set<HostType> hostTypes;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Contact contact;
 
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Valid
     private Address address;
 
-    //private Agenda agenda;
-    //private Event event
-
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Valid
+    private Agenda agenda;
 }
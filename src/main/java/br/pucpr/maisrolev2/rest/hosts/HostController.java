@@ -1,49 +1,142 @@
 package br.pucpr.maisrolev2.rest.hosts;
 
+import br.pucpr.maisrolev2.lib.bulk.BulkResult;
 import br.pucpr.maisrolev2.lib.exception.AlreadyExistsException;
 import br.pucpr.maisrolev2.lib.exception.ExceptionHandlers;
 import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.pagination.PaginationSettings;
 import br.pucpr.maisrolev2.lib.security.JWT;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.Agenda;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.AgendaService;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import br.pucpr.maisrolev2.rest.reviews.HostRatingService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.core.MethodParameter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 @RestController
 @RequestMapping("/hosts")
 public class HostController {
     private final HostService service;
+    private final HostRatingService ratingService;
     private final ExceptionHandlers exceptionHandlers;
+    private final PaginationSettings pagination;
+    private final AgendaService agendaService;
     private final JWT jwt;
 
-    public HostController(HostService service, ExceptionHandlers exceptionHandlers, JWT jwt) {this.service = service;
+    public HostController(HostService service, HostRatingService ratingService, AgendaService agendaService,
+                          ExceptionHandlers exceptionHandlers, PaginationSettings pagination, JWT jwt) {this.service = service;
+        this.ratingService = ratingService;
+        this.agendaService = agendaService;
         this.exceptionHandlers = exceptionHandlers;
+        this.pagination = pagination;
         this.jwt = jwt;
     }
 
     @GetMapping("{id}")
-    @Transactional
     public ResponseEntity<Object> searchHost(@PathVariable(value = "id") Long id){
         try {
-            return ResponseEntity.ok(service.getHost(id));
+            return ResponseEntity.ok(service.getHostResponse(id));
         } catch (NotFoundException e) {
             return exceptionHandlers.handleNotFoundException(e);
         }
     }
-    @GetMapping("/all")
+    @GetMapping("{id}/rating")
     @Transactional
-    public ResponseEntity<Object> showAllHosts() {
+    public ResponseEntity<Object> rating(@PathVariable(value = "id") Long id) {
+        try {
+            return ResponseEntity.ok(ratingService.getSummary(id));
+        } catch (NotFoundException e) {
+            return exceptionHandlers.handleNotFoundException(e);
+        }
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Object> showAllHosts(@RequestParam(required = false) Long cursor,
+                                               @RequestParam(required = false) Integer size) {
         try {
-            return ResponseEntity.ok(service.getAllHosts());
+            var limit = pagination.clamp(size);
+            var hosts = service.getHosts(cursor, limit);
+            var body = CollectionModel.of(hosts.getContent(),
+                    linkTo(methodOn(HostController.class).showAllHosts(cursor, limit)).withSelfRel());
+            if (hosts.hasNext()) {
+                var last = hosts.getContent().get(hosts.getNumberOfElements() - 1).id();
+                body.add(linkTo(methodOn(HostController.class).showAllHosts(last, limit)).withRel(IanaLinkRelations.NEXT));
+            }
+            return ResponseEntity.ok(body);
         } catch (NotFoundException e) {
             return exceptionHandlers.handleNotFoundException(e);
         }
     }
 
+    @GetMapping("/nearby")
+    public ResponseEntity<Object> nearby(@RequestParam double lat, @RequestParam double lon,
+                                         @RequestParam(defaultValue = "5000") double radius,
+                                         @RequestParam(required = false) HostType type,
+                                         @RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var hosts = service.findNearby(lat, lon, radius, type, page, limit);
+        var body = CollectionModel.of(hosts.getContent(),
+                linkTo(methodOn(HostController.class).nearby(lat, lon, radius, type, page, limit)).withSelfRel());
+        if (hosts.hasNext()) {
+            body.add(linkTo(methodOn(HostController.class).nearby(lat, lon, radius, type, page + 1, limit))
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/open")
+    public ResponseEntity<Object> open(@RequestParam(required = false)
+                                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+                                       @RequestParam(required = false) HostType type,
+                                       @RequestParam(defaultValue = "0") int page,
+                                       @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var hosts = agendaService.openAt(at, type, page, limit);
+        var body = CollectionModel.of(hosts.getContent(),
+                linkTo(methodOn(HostController.class).open(at, type, page, limit)).withSelfRel());
+        if (hosts.hasNext()) {
+            body.add(linkTo(methodOn(HostController.class).open(at, type, page + 1, limit))
+                    .withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @PutMapping("{id}/agenda")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    public ResponseEntity<HostResponse> updateAgenda(@PathVariable(value = "id") Long id, @Valid @RequestBody Agenda agenda) {
+        return ResponseEntity.ok(agendaService.updateAgenda(id, agenda));
+    }
+
+    @GetMapping("/export")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    public void exportHosts(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        service.exportHosts(response.getOutputStream());
+    }
+
     @PostMapping("/register")
     @Transactional
     public ResponseEntity<Object> add(@Valid @RequestBody Host host, BindingResult bindingResult) {
@@ -53,8 +146,7 @@ public class HostController {
                         service.getClass().getDeclaredMethod("add", Host.class), 0),
                 bindingResult);
             }
-            service.add(host);
-            return new ResponseEntity<>(host, HttpStatus.CREATED);
+            return new ResponseEntity<>(HostResponse.of(service.add(host)), HttpStatus.CREATED);
         } catch (AlreadyExistsException e) {
             return exceptionHandlers.handleAlreadyExistsException(e);
         } catch (MethodArgumentNotValidException e) {
@@ -64,6 +156,13 @@ public class HostController {
         }
     }
 
+    @PostMapping("/bulk")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    public ResponseEntity<BulkResult> addAll(@RequestBody List<Host> hosts) {
+        return ResponseEntity.ok(service.addAll(hosts));
+    }
+
     /*
     @PostMapping("/login")
     public ResponseEntity<Object> login(@RequestBody HostLoginRequest req) {
@@ -1,10 +1,67 @@
 package br.pucpr.maisrolev2.rest.hosts;
 
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.search.SearchDocument;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.HostSchedule;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @Repository
-public interface HostRepository extends JpaRepository<Host, Long> {
+public interface HostRepository extends JpaRepository<Host, Long>, NearbyHostQueries {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Host findHostById(Long id);
     Host findHostByContact_Email(String email);
+    Slice<Host> findByIdGreaterThan(Long id, Pageable pageable);
+
+    // A fetch join on the collections cannot be paged in SQL, so pages are read as ids first.
+    @Query("select h.id from Host h where h.id > :id")
+    Slice<Long> findIdsByIdGreaterThan(Long id, Pageable pageable);
+
+    @EntityGraph(Host.DETAIL)
+    Optional<Host> findDetailedById(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from Host h where h.id = :id")
+    Optional<Host> findForUpdate(Long id);
+
+    @EntityGraph(Host.DETAIL)
+    List<Host> findDetailedByIdIn(Collection<Long> ids);
+
+    default Map<Long, HostResponse> findResponsesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) return Map.of();
+        return findDetailedByIdIn(ids).stream().collect(Collectors.toMap(Host::getId, HostResponse::of));
+    }
+
+    @Query("select h from Host h left join fetch h.contact left join fetch h.address left join fetch h.agenda order by h.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Host> streamAll();
+
+    @Query("select new br.pucpr.maisrolev2.lib.search.SearchDocument(h.id, h.hostName) from Host h")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE))
+    Stream<SearchDocument> streamNames();
+
+    @Query("select new br.pucpr.maisrolev2.rest.hosts.Agenda.HostSchedule(h.id, a.weeklySlots, t) " +
+            "from Host h join h.agenda a left join h.hostTypes t order by h.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE))
+    Stream<HostSchedule> streamSchedules();
 }
@@ -1,29 +1,148 @@
 package br.pucpr.maisrolev2.rest.hosts;
 
 
+import br.pucpr.maisrolev2.lib.bulk.BulkItemResult;
+import br.pucpr.maisrolev2.lib.bulk.BulkResult;
+import br.pucpr.maisrolev2.lib.bulk.BulkWriter;
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
 import br.pucpr.maisrolev2.lib.exception.NotFoundException;
-import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.geo.GeoHash;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.AgendaService;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import br.pucpr.maisrolev2.rest.reviews.HostRatingService;
+import br.pucpr.maisrolev2.rest.search.SearchService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 @Service
 public class HostService {
+    public static final double MAX_NEARBY_RADIUS = 50_000;
+    private static final int MAX_NEARBY_CELLS = 16;
+    private static final Comparator<Ranked> NEAREST = Comparator.comparingDouble(Ranked::distance).thenComparing(Ranked::id);
+
     private final HostRepository hostRepository;
+    private final HostRatingService ratingService;
+    private final NdjsonExporter exporter;
+    private final BulkWriter bulkWriter;
+    private final SearchService searchService;
+    private final AgendaService agendaService;
 
 
-    public HostService(HostRepository repository) {this.hostRepository = repository;}
+    public HostService(HostRepository repository, HostRatingService ratingService, NdjsonExporter exporter,
+                       BulkWriter bulkWriter, SearchService searchService, AgendaService agendaService) {
+        this.hostRepository = repository;
+        this.ratingService = ratingService;
+        this.exporter = exporter;
+        this.bulkWriter = bulkWriter;
+        this.searchService = searchService;
+        this.agendaService = agendaService;
+    }
 
+    @Transactional
     public Host add(Host host) {
-        return hostRepository.save(host);
+        var saved = hostRepository.save(host);
+        ratingService.initialize(saved.getId());
+        searchService.hostSaved(saved.getId(), saved.getHostName());
+        agendaService.hostSaved(saved);
+        return saved;
+    }
+
+    // Rating summaries are not initialized here; they are created with the first review
+    // and getSummary already answers with an empty one until then.
+    public BulkResult addAll(List<Host> hosts) {
+        return addAll(hosts, bulkWriter.validate(hosts));
+    }
+
+    public BulkResult addAll(List<Host> hosts, BulkItemResult[] results) {
+        return bulkWriter.write(hosts, results, h -> {
+            var saved = hostRepository.save(h);
+            searchService.hostSaved(saved.getId(), h.getHostName());
+            agendaService.hostSaved(saved);
+            return saved.getId();
+        }, h -> {
+            h.setId(null);
+            if (h.getContact() != null) h.getContact().setId(null);
+            if (h.getAddress() != null) h.getAddress().setId(null);
+            if (h.getAgenda() != null) h.getAgenda().setId(null);
+        });
+    }
+
+    public Host getHost(Long id) {
+        return hostRepository.findById(id).orElseThrow(() -> new NotFoundException(id, "Host not found."));
     }
 
-    public Host getHost(Long id) {return hostRepository.findHostById(id);}
+    @Transactional(readOnly = true)
+    public HostResponse getHostResponse(Long id) {
+        return hostRepository.findDetailedById(id).map(HostResponse::of)
+                .orElseThrow(() -> new NotFoundException(id, "Host not found."));
+    }
+
+    // Candidates come from at most MAX_NEARBY_CELLS geohash cells sized close to the radius and from the
+    // circle's bounding box; only their coordinates are loaded. The nearest ones up to the end of the page
+    // are kept in a bounded heap instead of sorting every candidate, and only that page's hosts are fetched.
+    @Transactional(readOnly = true)
+    public Page<NearbyHost> findNearby(double latitude, double longitude, double radius, HostType type,
+                                       int page, int size) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180)
+            throw new BadRequestException("Coordinates out of range.");
+        if (radius <= 0 || radius > MAX_NEARBY_RADIUS)
+            throw new BadRequestException("Radius must be between 0 and " + (int) MAX_NEARBY_RADIUS + " meters.");
+        if (page < 0) throw new BadRequestException("Page must not be negative.");
+
+        var candidates = hostRepository.findInCover(GeoHash.cover(latitude, longitude, radius, MAX_NEARBY_CELLS),
+                GeoHash.box(latitude, longitude, radius), type);
+        var pageable = PageRequest.of(page, size);
+        var keep = pageable.getOffset() + size;
+        var nearest = new PriorityQueue<>(NEAREST.reversed());
+        var total = 0;
+        for (var c : candidates) {
+            var ranked = new Ranked(c.id(), GeoHash.distance(latitude, longitude, c.latitude(), c.longitude()));
+            if (ranked.distance() > radius) continue;
+            total++;
+            if (nearest.size() < keep) {
+                nearest.add(ranked);
+            } else if (NEAREST.compare(ranked, nearest.peek()) < 0) {
+                nearest.poll();
+                nearest.add(ranked);
+            }
+        }
+
+        var ranked = new ArrayList<>(nearest);
+        ranked.sort(NEAREST);
+        var from = (int) Math.min(pageable.getOffset(), ranked.size());
+        var content = ranked.subList(from, ranked.size());
+        var hosts = hostRepository.findResponsesByIdIn(content.stream().map(Ranked::id).toList());
+        return new PageImpl<>(content.stream().map(r -> new NearbyHost(hosts.get(r.id()), r.distance())).toList(),
+                pageable, total);
+    }
+
+    private record Ranked(Long id, double distance) {}
+
+    @Transactional(readOnly = true)
+    public Slice<HostResponse> getHosts(Long cursor, int size) {
+        var ids = hostRepository.findIdsByIdGreaterThan(cursor == null ? 0L : cursor,
+                PageRequest.of(0, size, Sort.by("id")));
+        if (cursor == null && ids.isEmpty()) throw new NotFoundException("No hosts registered");
+        var hosts = hostRepository.findResponsesByIdIn(ids.getContent());
+        return ids.map(hosts::get);
+    }
 
-    public List<Host> getAllHosts() {
-        List<Host> hosts = hostRepository.findAll();
-        if (hosts.isEmpty()) throw new NotFoundException("No hosts registered");
-        return hosts;
+    @Transactional(readOnly = true)
+    public long exportHosts(OutputStream out) throws IOException {
+        return exporter.write(hostRepository.streamAll(), out);
     }
     /*
     public Host logHost(String email, String password) {
@@ -0,0 +1,3 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+public record NearbyCandidate(Long id, Double latitude, Double longitude) {}
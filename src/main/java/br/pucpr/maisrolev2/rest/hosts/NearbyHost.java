@@ -0,0 +1,5 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+
+public record NearbyHost(HostResponse host, double distance) {}
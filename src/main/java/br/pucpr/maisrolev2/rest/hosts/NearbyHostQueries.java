@@ -0,0 +1,9 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+import br.pucpr.maisrolev2.lib.geo.GeoHash;
+
+import java.util.List;
+
+public interface NearbyHostQueries {
+    List<NearbyCandidate> findInCover(List<GeoHash.Range> ranges, GeoHash.Box box, HostType type);
+}
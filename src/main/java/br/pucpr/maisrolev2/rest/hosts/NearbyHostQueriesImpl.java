@@ -0,0 +1,47 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+import br.pucpr.maisrolev2.lib.geo.GeoHash;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+// The number of geohash ranges varies with the cover, so the query is built per call. Each range is an
+// index range scan on idx_address_geohash_position; the bounding box is checked against the same index
+// entries, so only addresses inside the box are read.
+public class NearbyHostQueriesImpl implements NearbyHostQueries {
+    private final EntityManager entityManager;
+
+    public NearbyHostQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<NearbyCandidate> findInCover(List<GeoHash.Range> ranges, GeoHash.Box box, HostType type) {
+        if (ranges.isEmpty()) return List.of();
+        var jpql = new StringBuilder("select new br.pucpr.maisrolev2.rest.hosts.NearbyCandidate(h.id, a.latitude, a.longitude) ")
+                .append("from Host h join h.address a where (");
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) jpql.append(" or ");
+            jpql.append(ranges.get(i).to() == null
+                    ? "a.geohash >= :from" + i
+                    : "(a.geohash >= :from" + i + " and a.geohash < :to" + i + ")");
+        }
+        jpql.append(") and a.latitude between :minLat and :maxLat");
+        jpql.append(box.crossesAntimeridian()
+                ? " and (a.longitude >= :minLon or a.longitude <= :maxLon)"
+                : " and a.longitude between :minLon and :maxLon");
+        if (type != null) jpql.append(" and :type member of h.hostTypes");
+
+        var query = entityManager.createQuery(jpql.toString(), NearbyCandidate.class)
+                .setParameter("minLat", box.minLat())
+                .setParameter("maxLat", box.maxLat())
+                .setParameter("minLon", box.minLon())
+                .setParameter("maxLon", box.maxLon());
+        for (int i = 0; i < ranges.size(); i++) {
+            query.setParameter("from" + i, ranges.get(i).from());
+            if (ranges.get(i).to() != null) query.setParameter("to" + i, ranges.get(i).to());
+        }
+        if (type != null) query.setParameter("type", type);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,66 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@Entity
+@Data
+@NoArgsConstructor
+public class HostImport {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(String fileName) {
+            var name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) return CSV;
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) return NDJSON;
+            throw new BadRequestException("Unsupported file type, expected .csv or .ndjson: " + fileName);
+        }
+    }
+
+    @Id
+    @GeneratedValue
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private Status status = Status.QUEUED;
+    @Enumerated(EnumType.STRING)
+    private Format format;
+    private String fileName;
+    @JsonIgnore
+    private String path;
+    private long size;
+    private long position;
+    // Rows already committed; a resumed import skips this many rows of the file.
+    private long checkpoint;
+    private long created;
+    private long rejected;
+    private long failed;
+    @Column(length = 1000)
+    private String lastError;
+    private LocalDateTime startedAt = LocalDateTime.now();
+    private LocalDateTime updatedAt = startedAt;
+
+    public HostImport(Format format, String fileName, String path, long size) {
+        this.format = format;
+        this.fileName = fileName;
+        this.path = path;
+        this.size = size;
+    }
+
+    public double getProgress() {
+        if (status == Status.COMPLETED) return 1;
+        return size == 0 ? 0 : Math.min(1, (double) position / size);
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError == null || lastError.length() <= 1000 ? lastError : lastError.substring(0, 1000);
+    }
+}
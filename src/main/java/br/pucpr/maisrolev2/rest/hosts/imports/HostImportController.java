@@ -0,0 +1,92 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.annotation.security.RolesAllowed;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/hosts/import")
+public class HostImportController {
+    private final HostImportService service;
+
+    public HostImportController(HostImportService service) {
+        this.service = service;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Import hosts from a file",
+            description = "Uploads a .csv or .ndjson file of hosts and imports it in the background. "
+                    + "The Location header points to the import's status.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import queued.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = HostImport.class))}
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Unsupported file type."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin."),
+                    @ApiResponse(responseCode = "403", description = "Logged in user is not an admin.")
+            }
+    )
+    public ResponseEntity<HostImport> start(@RequestParam("file") MultipartFile file) throws IOException {
+        var job = service.start(file);
+        return ResponseEntity.accepted()
+                .location(linkTo(methodOn(HostImportController.class).status(job.getId())).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Import status",
+            description = "Retrieves the progress and row counts of an import.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import found.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = HostImport.class))}
+                    ),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin."),
+                    @ApiResponse(responseCode = "403", description = "Logged in user is not an admin."),
+                    @ApiResponse(responseCode = "404", description = "Import not found.")
+            }
+    )
+    public ResponseEntity<HostImport> status(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(service.getImport(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Resume a failed import",
+            description = "Queues a failed import again; it continues after the last committed row.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import queued.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = HostImport.class))}
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Import has not failed."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin."),
+                    @ApiResponse(responseCode = "403", description = "Logged in user is not an admin."),
+                    @ApiResponse(responseCode = "404", description = "Import not found.")
+            }
+    )
+    public ResponseEntity<HostImport> resume(@PathVariable("id") Long id) {
+        return ResponseEntity.accepted().body(service.resume(id));
+    }
+}
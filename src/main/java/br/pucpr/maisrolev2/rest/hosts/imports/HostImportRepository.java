@@ -0,0 +1,12 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HostImportRepository extends JpaRepository<HostImport, Long> {
+    List<HostImport> findByStatusIn(Collection<HostImport.Status> statuses);
+}
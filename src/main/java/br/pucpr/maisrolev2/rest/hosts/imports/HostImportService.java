@@ -0,0 +1,196 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import br.pucpr.maisrolev2.lib.bulk.BulkItemResult;
+import br.pucpr.maisrolev2.lib.bulk.BulkWriter;
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.lib.imports.ImportSettings;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostService;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Service
+public class HostImportService {
+    private final HostImportRepository repository;
+    private final HostService hostService;
+    private final BulkWriter bulkWriter;
+    private final ImportSettings settings;
+    private final ObjectReader ndjsonReader;
+    private final ObjectReader csvReader;
+    private final ExecutorService workers;
+    private final ExecutorService validators;
+
+    public HostImportService(HostImportRepository repository, HostService hostService, BulkWriter bulkWriter,
+                             ImportSettings settings, ObjectMapper mapper) {
+        this.repository = repository;
+        this.hostService = hostService;
+        this.bulkWriter = bulkWriter;
+        this.settings = settings;
+        this.ndjsonReader = mapper.readerFor(Host.class);
+        this.csvReader = new CsvMapper()
+                .readerFor(HostRow.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.workers = Executors.newFixedThreadPool(settings.getWorkers());
+        this.validators = Executors.newFixedThreadPool(settings.getParallelism());
+    }
+
+    // Only the upload is done on the request thread; parsing and writing happen on the import workers.
+    public HostImport start(MultipartFile file) throws IOException {
+        var format = HostImport.Format.of(file.getOriginalFilename());
+        var path = Files.createDirectories(Path.of(settings.getDirectory()))
+                .resolve(UUID.randomUUID() + "." + format.name().toLowerCase(Locale.ROOT));
+        file.transferTo(path);
+
+        var job = repository.save(new HostImport(format, file.getOriginalFilename(), path.toString(), Files.size(path)));
+        submit(job.getId());
+        return job;
+    }
+
+    public HostImport getImport(Long id) {
+        return repository.findById(id).orElseThrow(() -> new NotFoundException(id, "Import not found."));
+    }
+
+    public HostImport resume(Long id) {
+        var job = getImport(id);
+        if (job.getStatus() != HostImport.Status.FAILED)
+            throw new BadRequestException("Only failed imports can be resumed, this one is " + job.getStatus());
+        job.setStatus(HostImport.Status.QUEUED);
+        job = repository.save(job);
+        submit(job.getId());
+        return job;
+    }
+
+    // Imports that were queued or running when the application stopped continue from their checkpoint.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        repository.findByStatusIn(List.of(HostImport.Status.QUEUED, HostImport.Status.RUNNING))
+                .forEach(job -> submit(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+        validators.shutdownNow();
+    }
+
+    private void submit(Long id) {
+        workers.submit(() -> run(id));
+    }
+
+    private record Row(Host host, String error) {}
+
+    private record Chunk(List<Host> hosts, BulkItemResult[] results, long position) {}
+
+    // Rows are read in chunks and validated in parallel, but written in file order so the checkpoint
+    // only ever covers committed rows. At most queueCapacity validated chunks wait for the writer,
+    // which keeps memory constant regardless of the file size.
+    private void run(Long id) {
+        var job = repository.findById(id).orElseThrow();
+        job.setStatus(HostImport.Status.RUNNING);
+        job = repository.save(job);
+
+        try (var rows = open(job)) {
+            for (long skipped = 0; skipped < job.getCheckpoint() && rows.hasNext(); skipped++) next(rows);
+
+            var inFlight = new ArrayDeque<Future<Chunk>>();
+            var chunk = new ArrayList<Row>(settings.getChunkSize());
+            while (rows.hasNext()) {
+                chunk.add(next(rows));
+                if (chunk.size() == settings.getChunkSize()) {
+                    inFlight.add(validate(chunk, position(rows)));
+                    chunk = new ArrayList<>(settings.getChunkSize());
+                    if (inFlight.size() >= settings.getQueueCapacity()) job = write(job, inFlight.remove().get());
+                }
+            }
+            if (!chunk.isEmpty()) inFlight.add(validate(chunk, job.getSize()));
+            while (!inFlight.isEmpty()) job = write(job, inFlight.remove().get());
+
+            job.setStatus(HostImport.Status.COMPLETED);
+            job.setPosition(job.getSize());
+            job.setUpdatedAt(LocalDateTime.now());
+            repository.save(job);
+            Files.deleteIfExists(Path.of(job.getPath()));
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING and is picked up again by resumeInterrupted().
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            job.setStatus(HostImport.Status.FAILED);
+            job.setLastError(e.getMessage());
+            job.setUpdatedAt(LocalDateTime.now());
+            repository.save(job);
+        }
+    }
+
+    private MappingIterator<?> open(HostImport job) throws IOException {
+        var in = new BufferedInputStream(Files.newInputStream(Path.of(job.getPath())));
+        return job.getFormat() == HostImport.Format.CSV ? csvReader.readValues(in) : ndjsonReader.readValues(in);
+    }
+
+    // Mapping errors only reject their row; the iterator skips to the next value. Malformed syntax fails the import.
+    private Row next(MappingIterator<?> rows) {
+        try {
+            var value = rows.next();
+            return new Row(value instanceof HostRow row ? row.toHost() : (Host) value, null);
+        } catch (RuntimeJsonMappingException | IllegalArgumentException e) {
+            return new Row(null, e.getMessage());
+        }
+    }
+
+    private long position(MappingIterator<?> rows) {
+        var location = rows.getCurrentLocation();
+        return Math.max(location.getByteOffset(), location.getCharOffset());
+    }
+
+    private Future<Chunk> validate(List<Row> rows, long position) {
+        var hosts = rows.stream().map(Row::host).toList();
+        return validators.submit(() -> {
+            var results = bulkWriter.validate(hosts);
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).error() != null) results[i] = BulkItemResult.rejected(i, rows.get(i).error());
+            }
+            return new Chunk(hosts, results, position);
+        });
+    }
+
+    private HostImport write(HostImport job, Chunk chunk) {
+        var result = hostService.addAll(chunk.hosts(), chunk.results());
+        var firstRow = job.getCheckpoint() + 1;
+        result.items().stream()
+                .filter(i -> i.errors() != null)
+                .reduce((first, second) -> second)
+                .ifPresent(i -> job.setLastError("Row " + (firstRow + i.index()) + ": " + String.join(", ", i.errors())));
+        job.setCheckpoint(job.getCheckpoint() + chunk.hosts().size());
+        job.setCreated(job.getCreated() + result.created());
+        job.setRejected(job.getRejected() + result.rejected());
+        job.setFailed(job.getFailed() + result.failed());
+        job.setPosition(chunk.position());
+        job.setUpdatedAt(LocalDateTime.now());
+        return repository.save(job);
+    }
+}
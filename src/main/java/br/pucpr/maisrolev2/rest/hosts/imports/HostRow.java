@@ -0,0 +1,61 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import br.pucpr.maisrolev2.rest.hosts.Address;
+import br.pucpr.maisrolev2.rest.hosts.Contact;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// One line of a CSV import. hostTypes holds HostType names separated by '|'.
+@Data
+public class HostRow {
+    private String hostName;
+    private String hostTypes;
+    private String insta;
+    private String face;
+    private String mobile;
+    private String phone;
+    private String email;
+    private String street;
+    private String number;
+    private String cep;
+    private String district;
+    private String city;
+    private String state;
+    private Double latitude;
+    private Double longitude;
+
+    public Host toHost() {
+        var contact = new Contact();
+        contact.setInsta(insta);
+        contact.setFace(face);
+        contact.setMobile(mobile);
+        contact.setPhone(phone);
+        contact.setEmail(email);
+
+        var address = new Address();
+        address.setStreet(street);
+        address.setNumber(number);
+        address.setCEP(cep);
+        address.setDistrict(district);
+        address.setCity(city);
+        address.setState(state);
+        address.setLatitude(latitude);
+        address.setLongitude(longitude);
+
+        var host = new Host();
+        host.setHostName(hostName);
+        host.setContact(contact);
+        host.setAddress(address);
+        if (hostTypes != null && !hostTypes.isBlank()) {
+            host.setHostTypes(Arrays.stream(hostTypes.split("\\|"))
+                    .map(t -> HostType.valueOf(t.trim().toUpperCase(Locale.ROOT)))
+                    .collect(Collectors.toSet()));
+        }
+        return host;
+    }
+}
@@ -0,0 +1,38 @@
+package br.pucpr.maisrolev2.rest.hosts.responses;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.WeekDays;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+public record HostResponse(Long id, String hostName, Set<HostType> hostTypes, Contact contact, Address address,
+                           List<OpeningHours> openingHours) {
+    public record Contact(String insta, String face, String mobile, String phone, String email) {}
+
+    public record Address(String street, String number, String cep, String district, String city, String state,
+                          Double latitude, Double longitude) {}
+
+    public record OpeningHours(WeekDays day, LocalTime opens, LocalTime closes) {}
+
+    public static HostResponse of(Host host) {
+        var contact = host.getContact();
+        var address = host.getAddress();
+        var agenda = host.getAgenda();
+        return new HostResponse(
+                host.getId(),
+                host.getHostName(),
+                host.getHostTypes() == null ? Set.of() : Set.copyOf(host.getHostTypes()),
+                contact == null ? null : new Contact(contact.getInsta(), contact.getFace(), contact.getMobile(),
+                        contact.getPhone(), contact.getEmail()),
+                address == null ? null : new Address(address.getStreet(), address.getNumber(), address.getCEP(),
+                        address.getDistrict(), address.getCity(), address.getState(),
+                        address.getLatitude(), address.getLongitude()),
+                agenda == null ? List.of() : agenda.getOpeningHours().stream()
+                        .map(h -> new OpeningHours(h.getDay(), h.getOpens(), h.getCloses()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+@Service
+public class HostRatingService {
+    private final HostRatingSummaryRepository summaryRepository;
+    private final ReviewRepository reviewRepository;
+    private final HostRepository hostRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public HostRatingService(HostRatingSummaryRepository summaryRepository, ReviewRepository reviewRepository,
+                             HostRepository hostRepository, TransactionTemplate transactionTemplate) {
+        this.summaryRepository = summaryRepository;
+        this.reviewRepository = reviewRepository;
+        this.hostRepository = hostRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // A host can have reviews but no summary yet: bulk-created hosts, and hosts reviewed before summaries
+    // existed. Their summary is counted here without being stored; the first review change stores it.
+    @Transactional(readOnly = true)
+    public HostRatingSummary getSummary(Long hostId) {
+        return summaryRepository.findById(hostId).orElseGet(() -> {
+            if (!hostRepository.existsById(hostId)) throw new NotFoundException(hostId, "Host not found.");
+            return counted(hostId);
+        });
+    }
+
+    // The update methods run inside the transaction that writes the review, after the review change,
+    // so the summary row lock is held until the change commits.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void initialize(Long hostId) {
+        if (!summaryRepository.existsById(hostId)) summaryRepository.save(new HostRatingSummary(hostId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewAdded(Long hostId, int rating) {
+        update(hostId, s -> s.add(rating));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewRemoved(Long hostId, int rating) {
+        update(hostId, s -> s.remove(rating));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewChanged(Long oldHostId, int oldRating, Long newHostId, int newRating) {
+        if (oldHostId.equals(newHostId) && oldRating == newRating) return;
+        // Lock in id order so two concurrent moves between the same hosts cannot deadlock.
+        if (oldHostId <= newHostId) {
+            update(oldHostId, s -> s.remove(oldRating));
+            update(newHostId, s -> s.add(newRating));
+        } else {
+            update(newHostId, s -> s.add(newRating));
+            update(oldHostId, s -> s.remove(oldRating));
+        }
+    }
+
+    @Scheduled(cron = "${rating.rebuild-cron}")
+    public void rebuild() {
+        var hostIds = new TreeSet<>(summaryRepository.findAllHostIds());
+        hostIds.addAll(reviewRepository.findReviewedHostIds());
+        hostIds.forEach(this::reconcile);
+    }
+
+    public void reconcile(Long hostId) {
+        transactionTemplate.executeWithoutResult(status -> update(hostId, summary -> {
+            summary.reset();
+            addCounts(summary);
+        }));
+    }
+
+    // Applies change to the locked summary. A missing summary is created from the review counts instead,
+    // which already include this transaction's own review change, so change is not applied to it.
+    // Concurrent first updates of a host take turns on the host row: the first inserts the summary and
+    // the others find it once that commits. The existence check does not lock, so a transaction waiting
+    // for the host holds no lock that the insert needs.
+    private void update(Long hostId, Consumer<HostRatingSummary> change) {
+        if (!summaryRepository.existsById(hostId)) hostRepository.findForUpdate(hostId);
+        summaryRepository.findForUpdate(hostId).ifPresentOrElse(change,
+                () -> summaryRepository.save(counted(hostId)));
+    }
+
+    private HostRatingSummary counted(Long hostId) {
+        var summary = new HostRatingSummary(hostId);
+        addCounts(summary);
+        return summary;
+    }
+
+    private void addCounts(HostRatingSummary summary) {
+        reviewRepository.countRatingsByHostId(summary.getHostId())
+                .forEach(c -> summary.add(c.rating(), c.total()));
+    }
+}
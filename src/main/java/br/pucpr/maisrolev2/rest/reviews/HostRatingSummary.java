@@ -0,0 +1,73 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Entity
+@Data
+@NoArgsConstructor
+public class HostRatingSummary {
+    @Id
+    private Long hostId;
+    private long count;
+    private long sum;
+    @JsonIgnore
+    private long stars1;
+    @JsonIgnore
+    private long stars2;
+    @JsonIgnore
+    private long stars3;
+    @JsonIgnore
+    private long stars4;
+    @JsonIgnore
+    private long stars5;
+
+    public HostRatingSummary(Long hostId) {
+        this.hostId = hostId;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public Map<Integer, Long> getHistogram() {
+        var histogram = new LinkedHashMap<Integer, Long>();
+        histogram.put(1, stars1);
+        histogram.put(2, stars2);
+        histogram.put(3, stars3);
+        histogram.put(4, stars4);
+        histogram.put(5, stars5);
+        return histogram;
+    }
+
+    public void add(int rating, long times) {
+        count += times;
+        sum += rating * times;
+        switch (rating) {
+            case 1 -> stars1 += times;
+            case 2 -> stars2 += times;
+            case 3 -> stars3 += times;
+            case 4 -> stars4 += times;
+            case 5 -> stars5 += times;
+            default -> throw new IllegalArgumentException("Rating out of range: " + rating);
+        }
+    }
+
+    public void add(int rating) {
+        add(rating, 1);
+    }
+
+    public void remove(int rating) {
+        add(rating, -1);
+    }
+
+    public void reset() {
+        count = sum = stars1 = stars2 = stars3 = stars4 = stars5 = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HostRatingSummaryRepository extends JpaRepository<HostRatingSummary, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from HostRatingSummary s where s.hostId = :hostId")
+    Optional<HostRatingSummary> findForUpdate(Long hostId);
+
+    @Query("select s.hostId from HostRatingSummary s")
+    List<Long> findAllHostIds();
+}
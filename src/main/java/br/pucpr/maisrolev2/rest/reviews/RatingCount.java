@@ -0,0 +1,3 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+public record RatingCount(Integer rating, Long total) {}
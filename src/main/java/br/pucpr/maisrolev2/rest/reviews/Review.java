@@ -3,7 +3,11 @@ package br.pucpr.maisrolev2.rest.reviews;
 import br.pucpr.maisrolev2.rest.hosts.Host;
 import br.pucpr.maisrolev2.rest.users.User;
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.time.LocalDateTime;
 
@@ -22,18 +26,22 @@ import java.time.LocalDateTime;
                 " WHERE h.id = :id" +
                 " ORDER BY r.id"
 )
+@Getter
+@Setter
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private LocalDateTime postDate = LocalDateTime.now();
     @NotNull
+    @Min(1)
+    @Max(5)
     private Integer rating;
     private String text;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "host_id")
     private Host host;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
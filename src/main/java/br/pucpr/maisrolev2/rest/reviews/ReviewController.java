@@ -0,0 +1,102 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.rest.reviews.requests.ReviewRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/reviews")
+public class ReviewController {
+    private final ReviewService service;
+
+    public ReviewController(ReviewService service) {
+        this.service = service;
+    }
+
+    @PostMapping
+    @RolesAllowed({"USER", "ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Post a review",
+            description = "Creates a review of a host by the user currently logged in.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Review created.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ReviewView.class))}
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid data provided."),
+                    @ApiResponse(responseCode = "401", description = "Must log in as user."),
+                    @ApiResponse(responseCode = "404", description = "Host not found.")
+            }
+    )
+    public ResponseEntity<ReviewView> create(@Valid @RequestBody ReviewRequest req, Authentication auth) {
+        return new ResponseEntity<>(service.create((Long) auth.getCredentials(), req), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    @RolesAllowed({"USER", "ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Update a review",
+            description = "Replaces the host, rating and text of a review posted by the current user.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Review updated.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ReviewView.class))}
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid data provided."),
+                    @ApiResponse(responseCode = "401", description = "Review belongs to another user."),
+                    @ApiResponse(responseCode = "404", description = "Review or host not found.")
+            }
+    )
+    public ResponseEntity<ReviewView> update(@PathVariable("id") Long id, @Valid @RequestBody ReviewRequest req,
+                                             Authentication auth) {
+        return ResponseEntity.ok(service.update((Long) auth.getCredentials(), id, req));
+    }
+
+    @DeleteMapping("/{id}")
+    @RolesAllowed({"USER", "ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Delete a review",
+            description = "Deletes a review posted by the current user.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Review deleted."),
+                    @ApiResponse(responseCode = "401", description = "Review belongs to another user."),
+                    @ApiResponse(responseCode = "404", description = "Review not found.")
+            }
+    )
+    public ResponseEntity<Void> delete(@PathVariable("id") Long id, Authentication auth) {
+        service.delete((Long) auth.getCredentials(), id);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/export")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Export all reviews",
+            description = "Streams every review as newline-delimited JSON.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Reviews streamed."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin.")
+            }
+    )
+    public void exportReviews(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        service.exportReviews(response.getOutputStream());
+    }
+}
@@ -1,12 +1,61 @@
 package br.pucpr.maisrolev2.rest.reviews;
 
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.search.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
+    @EntityGraph(attributePaths = {"host", "host.contact", "host.address", "user", "user.personalData"})
     List<Review> findAllByUserId(Long id);
+    @EntityGraph(attributePaths = {"host", "host.contact", "host.address", "user", "user.personalData"})
     List<Review> findAllByHostId(Long id);
+
+    @Query("select new br.pucpr.maisrolev2.rest.reviews.ReviewView(r.id, r.postDate, r.rating, r.text, h.id, h.hostName)" +
+            " from Review r" +
+            " join r.host h" +
+            " where r.user.id = :id" +
+            " order by r.id")
+    List<ReviewView> findViewsByUserId(Long id);
+
+    @Query("select new br.pucpr.maisrolev2.rest.reviews.ReviewView(r.id, r.postDate, r.rating, r.text, h.id, h.hostName)" +
+            " from Review r" +
+            " join r.host h" +
+            " where r.id in :ids")
+    List<ReviewView> findViewsByIdIn(Collection<Long> ids);
+
+    @Query("select new br.pucpr.maisrolev2.rest.reviews.RatingCount(r.rating, count(r))" +
+            " from Review r" +
+            " where r.host.id = :hostId" +
+            " group by r.rating")
+    List<RatingCount> countRatingsByHostId(Long hostId);
+
+    @Query("select distinct r.host.id from Review r")
+    List<Long> findReviewedHostIds();
+
+    // Exports serialize the whole Review graph, so every to-one association it reaches is fetched here;
+    // the collections are loaded in batches (default_batch_fetch_size).
+    @Query("select r from Review r" +
+            " join fetch r.host h left join fetch h.contact left join fetch h.address left join fetch h.agenda" +
+            " join fetch r.user u left join fetch u.personalData" +
+            " order by r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Review> streamAll();
+
+    @Query("select new br.pucpr.maisrolev2.lib.search.SearchDocument(r.id, r.text) from Review r")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE))
+    Stream<SearchDocument> streamTexts();
 }
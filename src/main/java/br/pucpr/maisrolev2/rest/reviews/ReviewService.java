@@ -0,0 +1,92 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import br.pucpr.maisrolev2.lib.exception.NotFoundException;
+import br.pucpr.maisrolev2.lib.exception.UnauthorizedException;
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.reviews.requests.ReviewRequest;
+import br.pucpr.maisrolev2.rest.search.SearchService;
+import br.pucpr.maisrolev2.rest.users.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+@Service
+public class ReviewService {
+    private final ReviewRepository reviewRepository;
+    private final HostRepository hostRepository;
+    private final UserRepository userRepository;
+    private final HostRatingService ratingService;
+    private final NdjsonExporter exporter;
+    private final SearchService searchService;
+
+    public ReviewService(ReviewRepository reviewRepository, HostRepository hostRepository, UserRepository userRepository,
+                         HostRatingService ratingService, NdjsonExporter exporter, SearchService searchService) {
+        this.reviewRepository = reviewRepository;
+        this.hostRepository = hostRepository;
+        this.userRepository = userRepository;
+        this.ratingService = ratingService;
+        this.exporter = exporter;
+        this.searchService = searchService;
+    }
+
+    @Transactional
+    public ReviewView create(Long userId, ReviewRequest req) {
+        var review = new Review();
+        review.setUser(userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("User not found: " + userId)));
+        review.setHost(hostRepository.findById(req.getHostId())
+                .orElseThrow(() -> new NotFoundException(req.getHostId(), "Host not found.")));
+        review.setRating(req.getRating());
+        review.setText(req.getText());
+        reviewRepository.save(review);
+
+        ratingService.reviewAdded(review.getHost().getId(), review.getRating());
+        searchService.reviewSaved(review.getId(), review.getText());
+        return toView(review);
+    }
+
+    @Transactional
+    public ReviewView update(Long userId, Long id, ReviewRequest req) {
+        var review = getOwnReview(userId, id);
+        var oldHostId = review.getHost().getId();
+        int oldRating = review.getRating();
+        if (!oldHostId.equals(req.getHostId())) {
+            review.setHost(hostRepository.findById(req.getHostId())
+                    .orElseThrow(() -> new NotFoundException(req.getHostId(), "Host not found.")));
+        }
+        review.setRating(req.getRating());
+        review.setText(req.getText());
+
+        ratingService.reviewChanged(oldHostId, oldRating, review.getHost().getId(), review.getRating());
+        searchService.reviewSaved(review.getId(), review.getText());
+        return toView(review);
+    }
+
+    @Transactional
+    public void delete(Long userId, Long id) {
+        var review = getOwnReview(userId, id);
+        reviewRepository.delete(review);
+        ratingService.reviewRemoved(review.getHost().getId(), review.getRating());
+        searchService.reviewRemoved(review.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public long exportReviews(OutputStream out) throws IOException {
+        return exporter.write(reviewRepository.streamAll(), out);
+    }
+
+    private Review getOwnReview(Long userId, Long id) {
+        var review = reviewRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException(id, "Review not found."));
+        if (!review.getUser().getId().equals(userId)) throw new UnauthorizedException("Review belongs to another user.");
+        return review;
+    }
+
+    private static ReviewView toView(Review review) {
+        return new ReviewView(review.getId(), review.getPostDate(), review.getRating(), review.getText(),
+                review.getHost().getId(), review.getHost().getHostName());
+    }
+}
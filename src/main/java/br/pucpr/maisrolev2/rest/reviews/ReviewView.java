@@ -0,0 +1,5 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import java.time.LocalDateTime;
+
+public record ReviewView(Long id, LocalDateTime postDate, Integer rating, String text, Long hostId, String hostName) {}
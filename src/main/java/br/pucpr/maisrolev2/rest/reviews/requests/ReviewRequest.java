@@ -0,0 +1,21 @@
+package br.pucpr.maisrolev2.rest.reviews.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReviewRequest {
+    @NotNull
+    @Schema(example = "1")
+    private Long hostId;
+    @NotNull
+    @Min(1)
+    @Max(5)
+    @Schema(example = "5")
+    private Integer rating;
+    @Schema(example = "Great drinks and music.")
+    private String text;
+}
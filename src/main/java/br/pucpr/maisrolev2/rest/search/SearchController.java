@@ -0,0 +1,74 @@
+package br.pucpr.maisrolev2.rest.search;
+
+import br.pucpr.maisrolev2.lib.exception.BadRequestException;
+import br.pucpr.maisrolev2.lib.pagination.PaginationSettings;
+import br.pucpr.maisrolev2.lib.search.InvertedIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.data.domain.Page;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@RestController
+@RequestMapping("/search")
+public class SearchController {
+    private final SearchService service;
+    private final PaginationSettings pagination;
+
+    public SearchController(SearchService service, PaginationSettings pagination) {
+        this.service = service;
+        this.pagination = pagination;
+    }
+
+    @GetMapping("/hosts")
+    @Operation(
+            summary = "Search hosts by name",
+            description = "Typeahead search: every word must match a word of the host name, the last one as a prefix. " +
+                    "A prefix that starts more than " + InvertedIndex.MAX_PREFIX_EXPANSIONS + " different words only " +
+                    "matches the word itself and the most common of them, " + InvertedIndex.MAX_PREFIX_EXPANSIONS + " in all; " +
+                    "typing more letters narrows it down."
+    )
+    public ResponseEntity<CollectionModel<?>> searchHosts(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var hosts = service.searchHosts(q, checked(page), limit);
+        return ResponseEntity.ok(model(hosts,
+                linkTo(methodOn(SearchController.class).searchHosts(q, page, limit)).withSelfRel(),
+                linkTo(methodOn(SearchController.class).searchHosts(q, page + 1, limit)).withRel(IanaLinkRelations.NEXT)));
+    }
+
+    @GetMapping("/reviews")
+    @Operation(
+            summary = "Search reviews by keyword",
+            description = "Returns the reviews containing every word of the query, best BM25 match first."
+    )
+    public ResponseEntity<CollectionModel<?>> searchReviews(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var reviews = service.searchReviews(q, checked(page), limit);
+        return ResponseEntity.ok(model(reviews,
+                linkTo(methodOn(SearchController.class).searchReviews(q, page, limit)).withSelfRel(),
+                linkTo(methodOn(SearchController.class).searchReviews(q, page + 1, limit)).withRel(IanaLinkRelations.NEXT)));
+    }
+
+    private static int checked(int page) {
+        if (page < 0) throw new BadRequestException("Page must not be negative.");
+        return page;
+    }
+
+    private static CollectionModel<?> model(Page<?> results, Link self, Link next) {
+        var body = CollectionModel.of(results.getContent(), self);
+        if (results.hasNext()) body.add(next);
+        return body;
+    }
+}
@@ -0,0 +1,129 @@
+package br.pucpr.maisrolev2.rest.search;
+
+import br.pucpr.maisrolev2.lib.search.InvertedIndex;
+import br.pucpr.maisrolev2.lib.search.RebuildableIndex;
+import br.pucpr.maisrolev2.lib.search.SearchHit;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.responses.HostResponse;
+import br.pucpr.maisrolev2.rest.reviews.ReviewRepository;
+import br.pucpr.maisrolev2.rest.reviews.ReviewView;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class SearchService implements MeterBinder {
+    private final RebuildableIndex hosts = new RebuildableIndex();
+    private final RebuildableIndex reviews = new RebuildableIndex();
+    private final HostRepository hostRepository;
+    private final ReviewRepository reviewRepository;
+
+    public SearchService(HostRepository hostRepository, ReviewRepository reviewRepository) {
+        this.hostRepository = hostRepository;
+        this.reviewRepository = reviewRepository;
+    }
+
+    // Requests are already being served at this point; each index keeps answering from its previous
+    // contents until the rebuilt one is swapped in.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        hosts.rebuild(index -> {
+            try (var names = hostRepository.streamNames()) {
+                names.forEach(d -> index.put(d.id(), d.text()));
+            }
+        });
+        reviews.rebuild(index -> {
+            try (var texts = reviewRepository.streamTexts()) {
+                texts.forEach(d -> index.put(d.id(), d.text()));
+            }
+        });
+    }
+
+    // Index updates wait for the surrounding transaction to commit, so a rollback never shows up in results.
+    public void hostSaved(Long id, String name) {
+        afterCommit(() -> hosts.put(id, name));
+    }
+
+    public void reviewSaved(Long id, String text) {
+        afterCommit(() -> reviews.put(id, text));
+    }
+
+    public void reviewRemoved(Long id) {
+        afterCommit(() -> reviews.remove(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<HostResponse> searchHosts(String query, int page, int size) {
+        return load(hosts.current().search(query, true), page, size, hostRepository::findResponsesByIdIn);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ReviewView> searchReviews(String query, int page, int size) {
+        return load(reviews.current().search(query, false), page, size,
+                ids -> reviewRepository.findViewsByIdIn(ids).stream().collect(Collectors.toMap(ReviewView::id, Function.identity())));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "hosts", hosts);
+        bind(registry, "reviews", reviews);
+    }
+
+    private static void bind(MeterRegistry registry, String name, RebuildableIndex index) {
+        Gauge.builder("search.index.memory", index, i -> i.current().estimatedBytes())
+                .description("Estimated heap used by the search index")
+                .baseUnit("bytes")
+                .tag("index", name)
+                .register(registry);
+        Gauge.builder("search.index.documents", index, i -> i.current().documentCount())
+                .tag("index", name)
+                .register(registry);
+        Gauge.builder("search.index.terms", index, i -> i.current().termCount())
+                .tag("index", name)
+                .register(registry);
+        FunctionCounter.builder("search.prefix.truncated", index, RebuildableIndex::truncatedPrefixes)
+                .description("Prefix queries that matched more than " + InvertedIndex.MAX_PREFIX_EXPANSIONS + " terms")
+                .tag("index", name)
+                .register(registry);
+    }
+
+    // Only the rows of the requested page are loaded, then put back in ranking order.
+    private static <T> Page<T> load(List<SearchHit> hits, int page, int size, Function<List<Long>, Map<Long, T>> fetch) {
+        var pageable = PageRequest.of(page, size);
+        var from = (int) Math.min(pageable.getOffset(), hits.size());
+        var ids = hits.subList(from, Math.min(from + size, hits.size())).stream().map(SearchHit::id).toList();
+        var rows = ids.isEmpty() ? Map.<Long, T>of() : fetch.apply(ids);
+        var content = ids.stream().map(rows::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageable, hits.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
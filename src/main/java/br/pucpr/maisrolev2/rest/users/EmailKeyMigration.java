@@ -0,0 +1,36 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.lib.migration.Migration;
+import br.pucpr.maisrolev2.lib.migration.Schema;
+import org.springframework.stereotype.Component;
+
+// Fills user_personal_data.email_key before Hibernate adds uk_user_personal_data_email_key. When an
+// address is registered more than once in different case, only the oldest row gets the key; the others
+// keep a null key until their email is changed, and saving them unchanged reports the email as taken.
+@Component
+public class EmailKeyMigration implements Migration {
+    @Override
+    public int version() {
+        return 3;
+    }
+
+    @Override
+    public String description() {
+        return "Backfill user_personal_data.email_key";
+    }
+
+    @Override
+    public void migrate(Schema schema) {
+        if (!schema.tableExists("user_personal_data")) return;
+        var jdbc = schema.jdbc();
+        if (!schema.columnExists("user_personal_data", "email_key")) {
+            jdbc.execute("alter table user_personal_data add column email_key varchar(255)");
+        }
+
+        var duplicates = jdbc.queryForList("select p.id from user_personal_data p where exists (select 1 from "
+                + "user_personal_data o where lower(o.email) = lower(p.email) and o.id < p.id)", Long.class);
+        jdbc.update("update user_personal_data set email_key = lower(email) where email_key is null");
+        jdbc.batchUpdate("update user_personal_data set email_key = null where id = ?",
+                duplicates.stream().map(id -> new Object[]{id}).toList());
+    }
+}
@@ -2,33 +2,47 @@ package br.pucpr.maisrolev2.rest.users;
 
 import br.pucpr.maisrolev2.rest.Role;
 import br.pucpr.maisrolev2.rest.reviews.Review;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.util.HashSet;
+import java.util.Locale;
 import java.util.Set;
 
 @Entity
-@NamedQuery(
-    name = "User.findByUsername",
-    query = "select u " +
-            "from User u " +
-            "where upper(u.username) " +
-            "like upper(:username)"
-)
+@NamedEntityGraph(name = User.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
+@NamedEntityGraph(name = User.PROFILE, attributeNodes = @NamedAttributeNode("personalData"))
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_username", columnNames = "username"),
+        @UniqueConstraint(name = "uk_user_username_key", columnNames = "username_key")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
 public class User {
+    // Login: the roles go into the token.
+    public static final String WITH_ROLES = "User.withRoles";
+    // Profile reads and updates: UserResponse needs the personal data.
+    public static final String PROFILE = "User.profile";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     @Schema(hidden = true)
     private Long id;
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Size(min = 5, max = 30)
     @Schema(
             description = "Username of account",
@@ -36,8 +50,14 @@ public class User {
             type = "string"
     )
     private String username;
+    // Lowercase copy of username so case-insensitive lookups are point reads on the unique index.
+    @Column(name = "username_key")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String usernameKey;
 
-    @Size(min = 8, max = 40)
+    @Size(min = 8, max = 72)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Schema(
             description = "Password of account",
             example = "mYp@s$w0rd",
@@ -46,12 +66,24 @@ public class User {
     private String password;
     @Enumerated(EnumType.STRING)
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user.roles")
     @Schema(hidden = true)
     private Set<Role> roles = new HashSet<>();
-    @OneToOne(cascade = CascadeType.ALL)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @NotNull
     private UserPersonalData personalData;
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL)
+    @JsonIgnore
     @Schema(hidden = true)
     private Set<Review> reviews = new HashSet<>();
-}
\ No newline at end of file
+
+    public static String usernameKey(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateUsernameKey() {
+        usernameKey = usernameKey(username);
+    }
+}
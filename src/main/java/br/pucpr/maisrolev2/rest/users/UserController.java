@@ -1,10 +1,15 @@
 package br.pucpr.maisrolev2.rest.users;
 
+import br.pucpr.maisrolev2.lib.bulk.BulkResult;
 import br.pucpr.maisrolev2.lib.exception.*;
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.pagination.PaginationSettings;
 import br.pucpr.maisrolev2.lib.security.JWT;
-import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.rest.reviews.ReviewView;
 import br.pucpr.maisrolev2.rest.users.requests.UserLoginRequest;
+import br.pucpr.maisrolev2.rest.users.requests.UserPatch;
 import br.pucpr.maisrolev2.rest.users.responses.UserLoginResponse;
+import br.pucpr.maisrolev2.rest.users.responses.UserResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -12,10 +17,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.PositiveOrZero;
 import org.springframework.core.MethodParameter;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -23,58 +31,87 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
 
 @RestController
 @RequestMapping("/users")
 public class UserController {
     private final UserService service;
     private final ExceptionHandlers exceptionHandler;
+    private final PaginationSettings pagination;
     private JWT jwt;
-    public UserController(UserService service, ExceptionHandlers exceptionHandler, JWT jwt) {
+    public UserController(UserService service, ExceptionHandlers exceptionHandler, PaginationSettings pagination, JWT jwt) {
         this.jwt = jwt;
         this.service = service;
         this.exceptionHandler = exceptionHandler;
+        this.pagination = pagination;
     }
 
     @GetMapping("/{id}")
-    @Transactional
     @Operation(
             summary = "Get user by ID",
             description = "Retrieves a user in the database using an unique ID.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "User found and retrieved.",
                             content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = User.class))}
+                            schema = @Schema(implementation = UserResponse.class))}
                     ),
                     @ApiResponse(responseCode = "400", description = "Must inform a valid ID."),
                     @ApiResponse(responseCode = "404", description = "User not found.")
             }
     )
-    public ResponseEntity<User> searchUser(@PathVariable(value = "id") @PositiveOrZero Long id) {
-        return ResponseEntity.ok(service.getUser(id));
+    public ResponseEntity<UserResponse> searchUser(@PathVariable(value = "id") @PositiveOrZero Long id) {
+        return ResponseEntity.ok(service.getUserResponse(id));
     }
 
     @GetMapping("/all")
-    @Transactional
     @Operation(
             summary = "Get all user registered",
-            description = "Retrieves an array with all registered users.",
+            description = "Retrieves a page of registered users ordered by ID, starting after the given cursor. " +
+                    "The 'next' link carries the cursor for the following page.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "All users found and retrieved.",
+                    @ApiResponse(responseCode = "200", description = "Page of users found and retrieved.",
                             content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = User.class))}
+                            schema = @Schema(implementation = UserResponse.class))}
                     ),
                     @ApiResponse(responseCode = "404", description = "No users found.")
             }
     )
-    public ResponseEntity<List<User>> showAllUsers() {
-        return ResponseEntity.ok(service.getAllUsers());
+    public ResponseEntity<CollectionModel<UserResponse>> showAllUsers(@RequestParam(required = false) Long cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        var limit = pagination.clamp(size);
+        var users = service.getUsers(cursor, limit);
+        var body = CollectionModel.of(users.getContent(),
+                linkTo(methodOn(UserController.class).showAllUsers(cursor, limit)).withSelfRel());
+        if (users.hasNext()) {
+            var last = users.getContent().get(users.getNumberOfElements() - 1).id();
+            body.add(linkTo(methodOn(UserController.class).showAllUsers(last, limit)).withRel(IanaLinkRelations.NEXT));
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @GetMapping("/export")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Export all users",
+            description = "Streams every registered user as newline-delimited JSON.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Users streamed."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin.")
+            }
+    )
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonExporter.MEDIA_TYPE);
+        service.exportUsers(response.getOutputStream());
     }
 
     @GetMapping("/me/reviews")
-    @Transactional
     @RolesAllowed({"USER", "ADMIN"})
     @SecurityRequirement(name = "AuthServer")
     @Operation(
@@ -83,14 +120,14 @@ public class UserController {
             responses = {
                     @ApiResponse(responseCode = "200", description = "All reviews found and retrieved.",
                             content = {@Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = User.class))}
+                                    schema = @Schema(implementation = ReviewView.class))}
                     ),
                     @ApiResponse(responseCode = "400", description = "Error in token processing."),
                     @ApiResponse(responseCode = "401", description = "Must log in as user."),
                     @ApiResponse(responseCode = "404", description = "User not found")
             }
     )
-    public ResponseEntity<List<Review>> getAllReviews(Authentication auth) {
+    public ResponseEntity<List<ReviewView>> getAllReviews(Authentication auth) {
         var reviews = service.getReviewsByUser((Long) auth.getCredentials());
         return ResponseEntity.ok(reviews);
     }
@@ -103,7 +140,7 @@ public class UserController {
             responses = {
                     @ApiResponse(responseCode = "201", description = "User created successfully.",
                             content = {@Content(mediaType = "application/json",
-                            schema = @Schema(implementation = User.class))}),
+                            schema = @Schema(implementation = UserResponse.class))}),
                     @ApiResponse(responseCode = "400", description = "Invalid information provided."),
                     @ApiResponse(responseCode = "403", description = "User already logged in.")
             }
@@ -115,14 +152,32 @@ public class UserController {
                         service.getClass().getDeclaredMethod("add", User.class), 0),
                         bindingResult);
             }
-            service.add(user);
-            return new ResponseEntity<>(user, HttpStatus.CREATED);
+            return new ResponseEntity<>(UserResponse.of(service.add(user)), HttpStatus.CREATED);
         } catch (MethodArgumentNotValidException e) {
             return exceptionHandler.handleValidationException(e);
         } catch (NoSuchMethodException e) {
             throw new RuntimeException(e);
         }
     }
+    @PostMapping("/bulk")
+    @RolesAllowed({"ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Registers a batch of users.",
+            description = "Validates the whole batch, then inserts the valid users in chunked transactions. " +
+                    "Returns one result per item, in request order.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkResult.class))}),
+                    @ApiResponse(responseCode = "400", description = "Batch empty or too large."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as admin.")
+            }
+    )
+    public ResponseEntity<BulkResult> registerUsers(@RequestBody List<User> users) {
+        return ResponseEntity.ok(service.addAll(users));
+    }
+
     @PostMapping("/login")
     @PermitAll
     @Operation(
@@ -136,18 +191,16 @@ public class UserController {
                     @ApiResponse(responseCode = "400", description = "Invalid data provided"),
                     @ApiResponse(responseCode = "401", description = "Incorrect username or password."),
                     @ApiResponse(responseCode = "403", description = "User already logged in."),
-                    @ApiResponse(responseCode = "404", description = "Username does not exist.")
+                    @ApiResponse(responseCode = "404", description = "Username does not exist."),
+                    @ApiResponse(responseCode = "503", description = "Too many logins in progress.")
             }
     )
     public ResponseEntity<UserLoginResponse> login(@RequestBody UserLoginRequest req) {
         var user = service.logUser(req.getUsername(), req.getPassword());
-        var token = jwt.createToken(user);
-
-        return ResponseEntity.ok(new UserLoginResponse(token, user));
+        return ResponseEntity.ok(new UserLoginResponse(jwt.createToken(user), user));
     }
 
     @PutMapping("/me/update")
-    @Transactional
     @RolesAllowed({"USER", "ADMIN"})
     @SecurityRequirement(name = "AuthServer")
     @Operation(
@@ -156,7 +209,7 @@ public class UserController {
             responses = {
                     @ApiResponse(responseCode = "201", description = "User information updated.",
                             content = {@Content(mediaType = "application/json",
-                                    schema = @Schema(implementation = User.class))}
+                                    schema = @Schema(implementation = UserResponse.class))}
                     ),
                     @ApiResponse(responseCode = "400", description = "Invalid data provided"),
                     @ApiResponse(responseCode = "401", description = "Must be logged as user."),
@@ -170,7 +223,7 @@ public class UserController {
                         bindingResult);
             }
             service.update(user.getId(), user);
-            return new ResponseEntity<>(service.getUser(user.getId()), HttpStatus.CREATED);
+            return new ResponseEntity<>(service.getUserResponse(user.getId()), HttpStatus.CREATED);
 
         } catch (MethodArgumentNotValidException e) {
             return exceptionHandler.handleValidationException(e);
@@ -179,6 +232,25 @@ public class UserController {
         }
     }
 
+    @PatchMapping("/me")
+    @RolesAllowed({"USER", "ADMIN"})
+    @SecurityRequirement(name = "AuthServer")
+    @Operation(
+            summary = "Partially updates user information.",
+            description = "Changes only the fields present in the request for the user currently logged in.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "User information updated.",
+                            content = {@Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = UserResponse.class))}
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Invalid data, or username or email already taken."),
+                    @ApiResponse(responseCode = "401", description = "Must be logged as user."),
+            }
+    )
+    public ResponseEntity<UserResponse> patch(@Valid @RequestBody UserPatch patch, Authentication auth) {
+        return ResponseEntity.ok(service.patch((Long) auth.getCredentials(), patch));
+    }
+
     @DeleteMapping("/me/delete")
     @Transactional
     @RolesAllowed({"USER", "ADMIN"})
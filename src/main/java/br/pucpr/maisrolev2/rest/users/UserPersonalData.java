@@ -2,14 +2,25 @@ package br.pucpr.maisrolev2.rest.users;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.util.Locale;
 
 @Entity
+@DynamicUpdate
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_personal_data_email_key", columnNames = "email_key"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "userPersonalData")
 @Data
 public class UserPersonalData {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_personal_data_seq")
+    @SequenceGenerator(name = "user_personal_data_seq", sequenceName = "user_personal_data_seq", allocationSize = 50)
     @Schema(hidden = true)
     private Long id;
     @Schema(
@@ -34,10 +45,25 @@ public class UserPersonalData {
             example = "20/10/1992"
     )
     private String dateOfBirth;
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     @Schema(
             description = "Email of user",
             example = "johndoe@email.com"
     )
     private String email;
+    // Lowercase copy of email; the unique constraint is on this, so case variants of one address conflict.
+    @Column(name = "email_key")
+    @JsonIgnore
+    @Schema(hidden = true)
+    private String emailKey;
+
+    public static String emailKey(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateEmailKey() {
+        emailKey = emailKey(email);
+    }
 }
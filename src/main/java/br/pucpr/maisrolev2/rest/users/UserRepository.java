@@ -1,11 +1,56 @@
 package br.pucpr.maisrolev2.rest.users;
 
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.rest.users.responses.UserResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+    // Not query-cached: a cache hit would skip the entity graph and hand back a user without its roles.
+    @EntityGraph(User.WITH_ROLES)
+    Optional<User> findByUsernameKey(String usernameKey);
+
+    @EntityGraph(User.PROFILE)
+    Optional<User> findProfileById(Long id);
+
+    default Optional<User> findByUsername(String username) {
+        return findByUsernameKey(User.usernameKey(username));
+    }
+    Slice<User> findByIdGreaterThan(Long id, Pageable pageable);
+
+    String RESPONSE = "select new br.pucpr.maisrolev2.rest.users.responses.UserResponse(u.id, u.username," +
+            " p.cellNumber, p.firstName, p.lastName, p.dateOfBirth, p.email)" +
+            " from User u left join u.personalData p";
+
+    @Query(RESPONSE + " where u.id = :id")
+    Optional<UserResponse> findResponseById(Long id);
+
+    @Query(RESPONSE + " where u.id > :id")
+    Slice<UserResponse> findResponsesByIdGreaterThan(Long id, Pageable pageable);
+
+    @Query("select u.usernameKey from User u where u.usernameKey in :usernames")
+    List<String> findTakenUsernames(Collection<String> usernames);
+
+    @Query("select p.emailKey from UserPersonalData p where p.emailKey in :emails")
+    List<String> findTakenEmails(Collection<String> emails);
+
+    @Query("select u from User u left join fetch u.personalData order by u.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<User> streamAll();
 }
@@ -1,14 +1,39 @@
 package br.pucpr.maisrolev2.rest.users;
 
+import br.pucpr.maisrolev2.lib.bulk.BulkItemResult;
+import br.pucpr.maisrolev2.lib.bulk.BulkResult;
+import br.pucpr.maisrolev2.lib.bulk.BulkWriter;
 import br.pucpr.maisrolev2.lib.exception.AlreadyExistsException;
 import br.pucpr.maisrolev2.lib.exception.NotFoundException;
 import br.pucpr.maisrolev2.lib.exception.UnauthorizedException;
-import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.lib.security.PasswordHasher;
+import br.pucpr.maisrolev2.rest.reviews.HostRatingService;
 import br.pucpr.maisrolev2.rest.reviews.ReviewRepository;
-import jakarta.transaction.Transactional;
+import br.pucpr.maisrolev2.rest.reviews.ReviewView;
+import br.pucpr.maisrolev2.rest.search.SearchService;
+import br.pucpr.maisrolev2.rest.users.requests.UserPatch;
+import br.pucpr.maisrolev2.rest.users.responses.UserResponse;
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import io.micrometer.core.annotation.Timed;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
 @Service
 public class UserService {
@@ -16,66 +41,174 @@ public class UserService {
     private final UserRepository userRepository;
     @Autowired
     private final ReviewRepository reviewRepository;
-    public UserService(UserRepository userRepository, ReviewRepository reviewRepository) {
+    private final HostRatingService ratingService;
+    private final NdjsonExporter exporter;
+    private final BulkWriter bulkWriter;
+    private final PasswordHasher passwordHasher;
+    private final SearchService searchService;
+    private final TransactionTemplate transactionTemplate;
+    public UserService(UserRepository userRepository, ReviewRepository reviewRepository,
+                       HostRatingService ratingService, NdjsonExporter exporter, BulkWriter bulkWriter,
+                       PasswordHasher passwordHasher, SearchService searchService, TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.reviewRepository = reviewRepository;
+        this.ratingService = ratingService;
+        this.exporter = exporter;
+        this.bulkWriter = bulkWriter;
+        this.passwordHasher = passwordHasher;
+        this.searchService = searchService;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    // The password check runs on the PasswordHasher pool and this thread waits for it. The lookup and the
+    // rehash of legacy plaintext or weaker hashes stay on this thread, so the pool only ever does hashing.
+    @Timed(value = "users.login", description = "Username lookup and password check")
     public User logUser(String username, String password) {
-        var user = userRepository.findByUsername(username);
-        if (user.isPresent()) {
-            var found = user.get();
-            if (found.getPassword().equals(password)) {
-                return found;
-            }
-            throw new UnauthorizedException("Incorrect username or password.");
+        var found = userRepository.findByUsername(username)
+                .orElseThrow(() -> new NotFoundException("Incorrect username or password."));
+        var verification = passwordHasher.verify(password, found.getPassword()).join();
+        if (!verification.matches()) throw new UnauthorizedException("Incorrect username or password.");
+        if (verification.upgradedHash() != null) {
+            found.setPassword(verification.upgradedHash());
+            userRepository.save(found);
         }
-        throw new NotFoundException("Incorrect username or password.");
+        return found;
     }
 
     public User getUser(Long id) {
         return userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found: " + id));
     }
-    public List<User> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        if (users.isEmpty()) throw new NotFoundException("No users registered");
+
+    @Transactional(readOnly = true)
+    public UserResponse getUserResponse(Long id) {
+        return userRepository.findResponseById(id).orElseThrow(() -> new NotFoundException("User not found: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<UserResponse> getUsers(Long cursor, int size) {
+        var users = userRepository.findResponsesByIdGreaterThan(cursor == null ? 0L : cursor,
+                PageRequest.of(0, size, Sort.by("id")));
+        if (cursor == null && users.isEmpty()) throw new NotFoundException("No users registered");
         return users;
     }
 
-    public List<Review> getReviewsByUser(Long id) {
-        List<Review> reviews = reviewRepository.findAllByUserId(id);
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream out) throws IOException {
+        return exporter.write(userRepository.streamAll(), out);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewView> getReviewsByUser(Long id) {
+        List<ReviewView> reviews = reviewRepository.findViewsByUserId(id);
 
         if (reviews.isEmpty()) throw new NotFoundException(id, "User has no reviews posted.");
         return reviews;
     }
 
-    @Transactional
+    // No existence check first: the unique constraints decide, which is a single insert and has no race
+    // between concurrent registrations. Not @Transactional, so the password is hashed before saveAndFlush
+    // takes a connection.
     public User add(User user) {
-        if (userRepository.findByUsername(user.getUsername()).isEmpty()) {
-            return userRepository.save(user);
+        if (user.getPassword() != null) user.setPassword(passwordHasher.hash(user.getPassword()).join());
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw alreadyExists(e);
         }
-        else throw new AlreadyExistsException("Username or email already taken.");
     }
 
-    @Transactional
+    private static RuntimeException alreadyExists(DataIntegrityViolationException e) {
+        var constraint = e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        constraint = constraint.toLowerCase(Locale.ROOT);
+        if (constraint.contains("uk_user_personal_data_email")) return new AlreadyExistsException("'email' already taken.", e);
+        if (constraint.contains("uk_user_username")) return new AlreadyExistsException("'username' already taken.", e);
+        return e;
+    }
+
+    public BulkResult addAll(List<User> users) {
+        var results = bulkWriter.validate(users);
+        var valid = users.stream().filter(Objects::nonNull).filter(u -> u.getPersonalData() != null).toList();
+        var taken = new HashSet<>(userRepository.findTakenUsernames(
+                valid.stream().map(u -> User.usernameKey(u.getUsername())).filter(Objects::nonNull).toList()));
+        var takenEmails = new HashSet<>(userRepository.findTakenEmails(
+                valid.stream().map(u -> UserPersonalData.emailKey(u.getPersonalData().getEmail())).filter(Objects::nonNull).toList()));
+
+        // Duplicates inside the batch are rejected too: add() returns false for the second occurrence.
+        for (int i = 0; i < users.size(); i++) {
+            if (results[i] != null) continue;
+            var user = users.get(i);
+            if (!taken.add(User.usernameKey(user.getUsername()))) {
+                results[i] = BulkItemResult.rejected(i, "Username already taken.");
+            } else if (!takenEmails.add(UserPersonalData.emailKey(user.getPersonalData().getEmail()))) {
+                results[i] = BulkItemResult.rejected(i, "Email already taken.");
+            }
+        }
+        var hashed = IntStream.range(0, users.size())
+                .filter(i -> results[i] == null && users.get(i).getPassword() != null)
+                .toArray();
+        var hashes = passwordHasher.hashAll(Arrays.stream(hashed).mapToObj(i -> users.get(i).getPassword()).toList());
+        for (int j = 0; j < hashed.length; j++) users.get(hashed[j]).setPassword(hashes.get(j));
+        return bulkWriter.write(users, results, u -> userRepository.save(u).getId(), u -> {
+            u.setId(null);
+            u.getPersonalData().setId(null);
+        });
+    }
+
+    // Only the given fields are set on the managed entities; with @DynamicUpdate the flush writes just
+    // the changed columns and leaves roles and reviews untouched. The new password is hashed before the
+    // transaction starts, so no connection is held while waiting for the hashing pool.
+    public UserResponse patch(Long id, UserPatch patch) {
+        var password = patch.getPassword() == null ? null : passwordHasher.hash(patch.getPassword()).join();
+        return transactionTemplate.execute(status -> {
+            var user = userRepository.findProfileById(id).orElseThrow(() -> new NotFoundException("User not found: " + id));
+            if (patch.getUsername() != null) user.setUsername(patch.getUsername());
+            if (password != null) user.setPassword(password);
+
+            var data = patch.getPersonalData();
+            if (data != null) {
+                var personalData = user.getPersonalData();
+                if (data.getCellNumber() != null) personalData.setCellNumber(data.getCellNumber());
+                if (data.getFirstName() != null) personalData.setFirstName(data.getFirstName());
+                if (data.getLastName() != null) personalData.setLastName(data.getLastName());
+                if (data.getDateOfBirth() != null) personalData.setDateOfBirth(data.getDateOfBirth());
+                if (data.getEmail() != null) personalData.setEmail(data.getEmail());
+            }
+            try {
+                userRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw alreadyExists(e);
+            }
+            return UserResponse.of(user);
+        });
+    }
+
     public void update(Long id, User user) {
-        var existingUser = userRepository.findById(id);
-        if (existingUser.isPresent()) {
-            var updated = existingUser.get();
+        // Passwords are never sent back to clients, so a missing one keeps the current hash.
+        var password = user.getPassword() == null ? null : passwordHasher.hash(user.getPassword()).join();
+        transactionTemplate.executeWithoutResult(status -> {
+            var updated = userRepository.findById(id).orElseThrow(() -> new NotFoundException("User not found: " + id));
             updated.setUsername(user.getUsername());
-            updated.setPassword(user.getPassword());
+            if (password != null) updated.setPassword(password);
             updated.setRoles(user.getRoles());
             updated.setPersonalData(user.getPersonalData());
             updated.setReviews(user.getReviews());
 
             userRepository.save(updated);
-        }
-        else throw new NotFoundException("User not found: " + id);
+        });
     }
 
     @Transactional
     public void deleteUser(Long id) {
         if (!userRepository.existsById(id)) throw new NotFoundException(id);
+        // Reviews are removed by cascade, so read them first; the rating summaries are updated after the
+        // removal, like every other review change.
+        var reviews = reviewRepository.findViewsByUserId(id);
         userRepository.deleteById(id);
+        reviews.forEach(r -> {
+            ratingService.reviewRemoved(r.hostId(), r.rating());
+            searchService.reviewRemoved(r.id());
+        });
     }
 }
@@ -0,0 +1,43 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.lib.migration.Migration;
+import br.pucpr.maisrolev2.lib.migration.Schema;
+import org.springframework.stereotype.Component;
+
+// Fills username_key for rows created before the column existed, before Hibernate adds
+// uk_user_username_key. The old case-insensitive LIKE check let some case variants of one name in;
+// the oldest account keeps the name and the others get their id appended, e.g. JohnDoe_42.
+@Component
+public class UsernameKeyMigration implements Migration {
+    private static final int MAX_USERNAME = 30;
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public String description() {
+        return "Backfill user.username_key and rename case-variant duplicate usernames";
+    }
+
+    @Override
+    public void migrate(Schema schema) {
+        if (!schema.tableExists("user")) return;
+        var jdbc = schema.jdbc();
+        if (!schema.columnExists("user", "username_key")) {
+            jdbc.execute("alter table user add column username_key varchar(255)");
+        }
+
+        var duplicates = jdbc.queryForList("select u.id, u.username from user u where exists "
+                + "(select 1 from user o where lower(o.username) = lower(u.username) and o.id < u.id) order by u.id");
+        for (var row : duplicates) {
+            var id = ((Number) row.get("id")).longValue();
+            var suffix = "_" + id;
+            var username = (String) row.get("username");
+            var renamed = username.substring(0, Math.min(username.length(), MAX_USERNAME - suffix.length())) + suffix;
+            jdbc.update("update user set username = ? where id = ?", renamed, id);
+        }
+        jdbc.update("update user set username_key = lower(username) where username_key is null or username_key <> lower(username)");
+    }
+}
@@ -0,0 +1,37 @@
+package br.pucpr.maisrolev2.rest.users.requests;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+// Fields left null are not changed.
+@Data
+public class UserPatch {
+    @Size(min = 5, max = 30)
+    @Schema(example = "johndoe")
+    private String username;
+    @Size(min = 8, max = 72)
+    @Schema(example = "mYp@s$w0rd")
+    private String password;
+    @Valid
+    private PersonalData personalData;
+
+    @Data
+    public static class PersonalData {
+        @Schema(example = "(41) 92142-9431")
+        private String cellNumber;
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        @Schema(example = "John")
+        private String firstName;
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        @Schema(example = "Doe")
+        private String lastName;
+        @Schema(example = "20/10/1992")
+        private String dateOfBirth;
+        @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+        @Schema(example = "johndoe@email.com")
+        private String email;
+    }
+}
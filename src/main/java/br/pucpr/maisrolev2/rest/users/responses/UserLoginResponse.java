@@ -7,11 +7,9 @@ import lombok.Data;
 public class UserLoginResponse {
     private String token;
     private String username;
-    private String password;
 
     public UserLoginResponse(String token, User req) {
         this.token = token;
         this.username = req.getUsername();
-        this.password = req.getPassword();
     }
 }
@@ -0,0 +1,21 @@
+package br.pucpr.maisrolev2.rest.users.responses;
+
+import br.pucpr.maisrolev2.rest.users.User;
+
+public record UserResponse(Long id, String username, PersonalData personalData) {
+    public record PersonalData(String cellNumber, String firstName, String lastName, String dateOfBirth, String email) {}
+
+    // Flat form used by the JPQL constructor expressions in UserRepository.
+    public UserResponse(Long id, String username, String cellNumber, String firstName, String lastName,
+                        String dateOfBirth, String email) {
+        this(id, username, new PersonalData(cellNumber, firstName, lastName, dateOfBirth, email));
+    }
+
+    public static UserResponse of(User user) {
+        var data = user.getPersonalData();
+        return data == null
+                ? new UserResponse(user.getId(), user.getUsername(), null)
+                : new UserResponse(user.getId(), user.getUsername(), data.getCellNumber(), data.getFirstName(),
+                        data.getLastName(), data.getDateOfBirth(), data.getEmail());
+    }
+}
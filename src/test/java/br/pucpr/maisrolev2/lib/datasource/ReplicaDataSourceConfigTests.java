@@ -0,0 +1,87 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The whole application with replicas enabled: the test profile's database is the primary and a second,
+// empty H2 database the replica. Hibernate only ever creates its tables on the primary.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:maisrolesb-primary;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "replicas.enabled=true",
+        "replicas.nodes[0].url=jdbc:h2:mem:maisrolesb-replica;DB_CLOSE_DELAY=-1",
+        "replicas.nodes[0].username=sa",
+        "replicas.nodes[0].password=",
+        "replicas.nodes[0].driver-class-name=org.h2.Driver"
+})
+@ActiveProfiles("test")
+class ReplicaDataSourceConfigTests {
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private ReplicaDataSources replicaDataSources;
+    @Autowired
+    private ReplicaLagMonitor monitor;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HostRepository hostRepository;
+
+    private JdbcTemplate jdbc;
+    private JdbcTemplate replicaJdbc;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        replicaJdbc = new JdbcTemplate(replicaDataSources.byName().get("replica-0"));
+        replicaJdbc.execute("create table if not exists replication_heartbeat (id int primary key, beat_at bigint not null)");
+        replicaJdbc.execute("delete from replication_heartbeat");
+        replicaJdbc.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", System.currentTimeMillis());
+        monitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        var reads = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        reads.setReadOnly(true);
+
+        assertTrue(reads.execute(s -> url()).contains("maisrolesb-replica"));
+        assertEquals("jdbc:h2:mem:maisrolesb-primary", transactionTemplate.execute(s -> url()));
+    }
+
+    @Test
+    void staleReplicasLeaveReadsOnThePrimary() {
+        replicaJdbc.update("update replication_heartbeat set beat_at = ?", System.currentTimeMillis() - 60_000);
+        monitor.check();
+        var reads = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        reads.setReadOnly(true);
+
+        assertEquals("jdbc:h2:mem:maisrolesb-primary", reads.execute(s -> url()));
+    }
+
+    @Test
+    void repositoryWritesGoToThePrimary() {
+        var host = new Host();
+        host.setHostName("Replica Config Host");
+        var id = transactionTemplate.execute(s -> hostRepository.save(host)).getId();
+
+        // Outside a transaction, so on the primary; the replica has no host table at all.
+        assertEquals("Replica Config Host", jdbc.queryForObject("select host_name from host where id = ?", String.class, id));
+    }
+
+    private String url() {
+        return jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getURL());
+    }
+}
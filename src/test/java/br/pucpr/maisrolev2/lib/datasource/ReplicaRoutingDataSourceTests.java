@@ -0,0 +1,113 @@
+package br.pucpr.maisrolev2.lib.datasource;
+
+import br.pucpr.maisrolev2.lib.security.AuthenticatedUser;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Two separate in-memory databases stand in for the primary and a replica. Nothing replicates between
+// them, so the tests play replication by setting the replica's copy of the heartbeat themselves.
+class ReplicaRoutingDataSourceTests {
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate reads;
+    private TransactionTemplate writes;
+
+    @BeforeEach
+    void setUp() {
+        var primary = database("primary");
+        var replica = database("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("create table replication_heartbeat (id int primary key, beat_at bigint not null)");
+        replicaJdbc.update("insert into replication_heartbeat (id, beat_at) values (1, ?)", System.currentTimeMillis());
+
+        monitor = new ReplicaLagMonitor(primary, Map.of("replica", replica), Duration.ofSeconds(5));
+        monitor.initialize();
+        var routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                primary, Map.of("replica", replica), monitor, new ReadYourWrites(Duration.ofSeconds(10))));
+
+        jdbc = new JdbcTemplate(routing);
+        var transactionManager = new DataSourceTransactionManager(routing);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertEquals("replica", reads.execute(s -> node()));
+        assertEquals("primary", writes.execute(s -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void staleReplicasAreSkipped() {
+        replicaJdbc.update("update replication_heartbeat set beat_at = ?", System.currentTimeMillis() - 60_000);
+        monitor.check();
+        assertEquals("primary", reads.execute(s -> node()));
+
+        replicaJdbc.update("update replication_heartbeat set beat_at = ?", System.currentTimeMillis());
+        monitor.check();
+        assertEquals("replica", reads.execute(s -> node()));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() {
+        authenticate(1L);
+        writes.executeWithoutResult(s -> jdbc.update("update node set name = name"));
+        assertEquals("primary", reads.execute(s -> node()));
+
+        authenticate(2L);
+        assertEquals("replica", reads.execute(s -> node()));
+    }
+
+    @Test
+    void rolledBackWritesDoNotStick() {
+        authenticate(1L);
+        writes.executeWithoutResult(s -> {
+            jdbc.update("update node set name = name");
+            s.setRollbackOnly();
+        });
+        assertEquals("replica", reads.execute(s -> node()));
+    }
+
+    private String node() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private static void authenticate(Long id) {
+        var user = new AuthenticatedUser(id, List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, id, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(16))");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
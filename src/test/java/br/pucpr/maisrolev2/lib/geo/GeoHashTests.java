@@ -0,0 +1,85 @@
+package br.pucpr.maisrolev2.lib.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoHashTests {
+    private static final int MAX_CELLS = 16;
+
+    @Test
+    void encodesKnownHash() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void measuresDistance() {
+        var parisLondon = GeoHash.distance(48.8566, 2.3522, 51.5074, -0.1278);
+        assertEquals(343_556, parisLondon, 1_000);
+    }
+
+    @Test
+    void coverContainsEveryPointInsideTheRadius() {
+        var random = new Random(42);
+        for (int i = 0; i < 2_000; i++) {
+            var lat = random.nextDouble() * 170 - 85;
+            var lon = random.nextDouble() * 360 - 180;
+            var radius = Math.pow(10, 1 + random.nextDouble() * 4);
+            var ranges = GeoHash.cover(lat, lon, radius, MAX_CELLS);
+            var box = GeoHash.box(lat, lon, radius);
+            assertTrue(ranges.size() <= MAX_CELLS);
+
+            for (int j = 0; j < 20; j++) {
+                var angle = random.nextDouble() * 2 * Math.PI;
+                var d = radius * Math.sqrt(random.nextDouble());
+                var pointLat = lat + d * Math.cos(angle) / 111_320;
+                var pointLon = wrap(lon + d * Math.sin(angle) / (111_320 * Math.cos(Math.toRadians(lat))));
+                if (GeoHash.distance(lat, lon, pointLat, pointLon) > radius) continue;
+
+                var hash = GeoHash.encode(pointLat, pointLon, GeoHash.MAX_PRECISION);
+                assertTrue(contains(ranges, hash), () -> hash + " not in " + ranges);
+                assertTrue(pointLat >= box.minLat() && pointLat <= box.maxLat());
+                assertTrue(box.crossesAntimeridian()
+                        ? pointLon >= box.minLon() || pointLon <= box.maxLon()
+                        : pointLon >= box.minLon() && pointLon <= box.maxLon(), () -> pointLon + " not in " + box);
+            }
+        }
+    }
+
+    // Compares the area the ranges cover with the circle by sampling the square four radii around it.
+    @Test
+    void coverStaysCloseToTheCircle() {
+        var random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            var lat = random.nextDouble() * 140 - 70;
+            var lon = random.nextDouble() * 360 - 180;
+            var radius = Math.pow(10, 2 + random.nextDouble() * 2.7);
+            var ranges = GeoHash.cover(lat, lon, radius, MAX_CELLS);
+
+            var dLat = 4 * radius / 111_320;
+            var dLon = dLat / Math.cos(Math.toRadians(lat));
+            int covered = 0, inside = 0;
+            for (int j = 0; j < 20_000; j++) {
+                var pointLat = lat + (random.nextDouble() * 2 - 1) * dLat;
+                var pointLon = wrap(lon + (random.nextDouble() * 2 - 1) * dLon);
+                if (contains(ranges, GeoHash.encode(pointLat, pointLon, GeoHash.MAX_PRECISION))) covered++;
+                if (GeoHash.distance(lat, lon, pointLat, pointLon) <= radius) inside++;
+            }
+            var ratio = (double) covered / inside;
+            assertTrue(ratio < 4, () -> "cover is " + ratio + "x the circle at " + lat + "," + lon + " r=" + radius);
+        }
+    }
+
+    private static boolean contains(List<GeoHash.Range> ranges, String hash) {
+        return ranges.stream().anyMatch(r -> hash.compareTo(r.from()) >= 0 && (r.to() == null || hash.compareTo(r.to()) < 0));
+    }
+
+    private static double wrap(double lon) {
+        if (lon >= 180) return lon - 360;
+        if (lon < -180) return lon + 360;
+        return lon;
+    }
+}
@@ -0,0 +1,114 @@
+package br.pucpr.maisrolev2.lib.migration;
+
+import br.pucpr.maisrolev2.rest.hosts.Agenda.OpeningHoursWeekDayMigration;
+import br.pucpr.maisrolev2.rest.hosts.ContactAddressSequences;
+import br.pucpr.maisrolev2.rest.users.EmailKeyMigration;
+import br.pucpr.maisrolev2.rest.users.UsernameKeyMigration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Each test gets its own in-memory database holding the tables as an earlier release left them.
+class MigrationRunnerTests {
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;NON_KEYWORDS=USER,DAY;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void appliesEachMigrationOnce() {
+        var runs = new AtomicInteger();
+        Migration counting = new Migration() {
+            public int version() { return 1; }
+            public String description() { return "count"; }
+            public void migrate(Schema schema) { runs.incrementAndGet(); }
+        };
+        new MigrationRunner(dataSource, List.of(counting)).migrate();
+        new MigrationRunner(dataSource, List.of(counting)).migrate();
+
+        assertEquals(1, runs.get());
+        assertEquals(1, jdbc.queryForObject("select count(*) from schema_migration", Integer.class));
+    }
+
+    @Test
+    void freshDatabaseIsLeftToHibernate() {
+        new MigrationRunner(dataSource, List.of(new ContactAddressSequences())).migrate();
+
+        assertEquals(0, jdbc.queryForObject("select count(*) from information_schema.sequences", Integer.class));
+    }
+
+    @Test
+    void sequencesStartAboveClientAssignedIds() {
+        jdbc.execute("create table contact (id bigint primary key)");
+        jdbc.execute("create table address (id bigint primary key)");
+        jdbc.update("insert into contact (id) values (7), (120)");
+
+        new ContactAddressSequences().migrate(new Schema(jdbc, true));
+
+        assertEquals(171, jdbc.queryForObject("select next value for contact_seq", Long.class));
+        assertEquals(51, jdbc.queryForObject("select next value for address_seq", Long.class));
+    }
+
+    @Test
+    void sequenceTablesStartAboveClientAssignedIds() {
+        jdbc.execute("create table contact (id bigint primary key)");
+        jdbc.execute("create table address (id bigint primary key)");
+        jdbc.update("insert into contact (id) values (7), (120)");
+        // What Hibernate created on MySQL if the previous release already ran.
+        jdbc.execute("create table address_seq (next_val bigint)");
+        jdbc.update("insert into address_seq (next_val) values (1)");
+
+        new ContactAddressSequences().migrate(new Schema(jdbc, false));
+
+        assertEquals(171, jdbc.queryForObject("select next_val from contact_seq", Long.class));
+        assertEquals(51, jdbc.queryForObject("select next_val from address_seq", Long.class));
+    }
+
+    @Test
+    void usernameKeysAreFilledAndCaseVariantsRenamed() {
+        jdbc.execute("create table user (id bigint primary key, username varchar(255) not null unique)");
+        jdbc.update("insert into user (id, username) values (1, 'JohnDoe'), (2, 'johndoe'), (3, 'JaneDoe')");
+
+        new UsernameKeyMigration().migrate(new Schema(jdbc));
+
+        assertEquals(List.of("JohnDoe:johndoe", "johndoe_2:johndoe_2", "JaneDoe:janedoe"),
+                jdbc.queryForList("select username || ':' || username_key from user order by id", String.class));
+        jdbc.execute("alter table user add constraint uk_user_username_key unique (username_key)");
+    }
+
+    @Test
+    void emailKeysAreFilledForTheOldestOfEachAddress() {
+        jdbc.execute("create table user_personal_data (id bigint primary key, email varchar(255) not null)");
+        jdbc.update("insert into user_personal_data (id, email) values (1, 'John@Email.com'), (2, 'john@email.com'), (3, 'jane@email.com')");
+
+        new EmailKeyMigration().migrate(new Schema(jdbc));
+
+        assertEquals(List.of("john@email.com", "null", "jane@email.com"),
+                jdbc.queryForList("select coalesce(email_key, 'null') from user_personal_data order by id", String.class));
+        jdbc.execute("alter table user_personal_data add constraint uk_user_personal_data_email_key unique (email_key)");
+    }
+
+    @Test
+    void openingHoursDayColumnIsRenamed() {
+        // The column as Hibernate created it on MySQL, where day is not reserved.
+        jdbc.execute("create table agenda_opening_hours (agenda_id bigint not null, day varchar(255), opens time, closes time)");
+        jdbc.update("insert into agenda_opening_hours (agenda_id, day, opens, closes) values (1, 'FRIDAY', '18:00', '02:00')");
+
+        new OpeningHoursWeekDayMigration().migrate(new Schema(jdbc));
+        new OpeningHoursWeekDayMigration().migrate(new Schema(jdbc));
+
+        assertEquals(List.of("FRIDAY"), jdbc.queryForList("select week_day from agenda_opening_hours", String.class));
+    }
+}
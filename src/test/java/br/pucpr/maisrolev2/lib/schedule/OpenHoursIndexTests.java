@@ -0,0 +1,45 @@
+package br.pucpr.maisrolev2.lib.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenHoursIndexTests {
+    // 2023-06-04 is a Sunday, 2023-06-05 a Monday.
+    @Test
+    void rangesPastMidnightWrapIntoTheNextWeek() {
+        var bitmap = new byte[WeeklyBitmap.BYTES];
+        WeeklyBitmap.open(bitmap, DayOfWeek.SUNDAY, LocalTime.of(22, 10), LocalTime.of(2, 0));
+
+        assertFalse(WeeklyBitmap.isOpen(bitmap, WeeklyBitmap.slot(LocalDateTime.of(2023, 6, 4, 22, 5))));
+        assertTrue(WeeklyBitmap.isOpen(bitmap, WeeklyBitmap.slot(LocalDateTime.of(2023, 6, 4, 22, 15))));
+        assertTrue(WeeklyBitmap.isOpen(bitmap, WeeklyBitmap.slot(LocalDateTime.of(2023, 6, 5, 1, 59))));
+        assertFalse(WeeklyBitmap.isOpen(bitmap, WeeklyBitmap.slot(LocalDateTime.of(2023, 6, 5, 2, 0))));
+    }
+
+    @Test
+    void filtersBySlotAndTagAndPages() {
+        var always = new byte[WeeklyBitmap.BYTES];
+        Arrays.fill(always, (byte) -1);
+        var never = new byte[WeeklyBitmap.BYTES];
+        var index = new OpenHoursIndex();
+        for (long id = 1; id <= 200; id++) index.put(id, id % 2 == 0 ? always : never, 1 << (int) (id % 3));
+
+        var any = index.openAt(0, -1, 0, 3);
+        assertEquals(100, any.total());
+        assertEquals(List.of(2L, 4L, 6L), any.ids());
+        assertEquals(List.of(198L, 200L), index.openAt(0, -1, 98, 5).ids());
+        assertEquals(33, index.openAt(0, 0, 0, 100).total());
+
+        index.remove(6);
+        index.put(8, never, 1);
+        assertEquals(List.of(2L, 4L, 10L), index.openAt(0, -1, 0, 3).ids());
+        assertEquals(199, index.size());
+    }
+}
@@ -0,0 +1,101 @@
+package br.pucpr.maisrolev2.lib.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTests {
+    @Test
+    void tokenizesFoldingCaseAccentsAndPunctuation() {
+        assertArrayEquals(new String[]{"cafe", "sao", "joao", "s", "bar", "24h"},
+                InvertedIndex.tokenize("  Café São-João's BAR! (24h)"));
+        assertArrayEquals(new String[0], InvertedIndex.tokenize("-- !"));
+        assertArrayEquals(new String[0], InvertedIndex.tokenize(null));
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        var index = new InvertedIndex();
+        index.put(1L, "Bar do Zé");
+        index.put(2L, "Bar da Praia");
+        index.put(3L, "Praia Clube");
+
+        assertEquals(List.of(2L), ids(index.search("praia bar", false)));
+        assertEquals(List.of(), ids(index.search("praia zé", false)));
+    }
+
+    @Test
+    void ranksWithBm25() {
+        var index = new InvertedIndex();
+        index.put(1L, "samba samba samba");
+        index.put(2L, "samba");
+        index.put(3L, "samba rock night with live music and drinks");
+        index.put(4L, "rock");
+
+        // Higher term frequency wins, and a match in a short document beats one in a long document.
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("samba", false)));
+        assertEquals(List.of(3L), ids(index.search("samba rock", false)));
+
+        // With equal lengths and frequencies, the rarer term scores higher.
+        var rarity = new InvertedIndex();
+        rarity.put(1L, "jazz club");
+        rarity.put(2L, "rock club");
+        rarity.put(3L, "rock bar");
+        rarity.put(4L, "rock pub");
+        assertTrue(rarity.search("jazz", false).get(0).score() > rarity.search("rock", false).get(0).score());
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisible() {
+        var index = new InvertedIndex();
+        index.put(1L, "Old Name");
+        index.put(1L, "New Name");
+        assertEquals(List.of(), ids(index.search("old", false)));
+        assertEquals(List.of(1L), ids(index.search("new", false)));
+
+        index.remove(1L);
+        assertEquals(List.of(), ids(index.search("name", false)));
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    void onlyTheLastTermIsAPrefix() {
+        var index = new InvertedIndex();
+        index.put(1L, "Barbearia Central");
+        index.put(2L, "Bar Central");
+        index.put(3L, "Padaria Central");
+
+        assertEquals(List.of(), ids(index.search("barb", false)));
+        assertEquals(List.of(1L), ids(index.search("barb", true)));
+        assertEquals(List.of(1L, 2L), ids(index.search("central ba", true)).stream().sorted().toList());
+        assertEquals(List.of(), ids(index.search("ba central", true)));
+    }
+
+    @Test
+    void widePrefixesKeepTheTermItselfAndTheMostCommonExpansions() {
+        var index = new InvertedIndex();
+        long id = 0;
+        // "ta" plus 100 rare expansions that sort before the common ones.
+        index.put(++id, "ta");
+        for (int i = 0; i < 100; i++) index.put(++id, "taa" + i);
+        for (int i = 0; i < InvertedIndex.MAX_PREFIX_EXPANSIONS; i++) {
+            index.put(++id, "tz" + i);
+            index.put(++id, "tz" + i);
+        }
+
+        var hits = ids(index.search("t", true));
+        assertEquals(1, index.truncatedPrefixes());
+        assertEquals(2 * InvertedIndex.MAX_PREFIX_EXPANSIONS, hits.size());
+        assertTrue(hits.stream().allMatch(hit -> hit > 101));
+
+        assertTrue(ids(index.search("ta", true)).contains(1L));
+        assertEquals(2, index.truncatedPrefixes());
+        assertEquals(List.of(2L), ids(index.search("taa0", true)));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
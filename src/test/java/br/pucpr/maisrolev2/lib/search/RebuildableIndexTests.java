@@ -0,0 +1,53 @@
+package br.pucpr.maisrolev2.lib.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RebuildableIndexTests {
+    @Test
+    void servesThePreviousContentsUntilTheSwap() {
+        var index = new RebuildableIndex();
+        index.put(1L, "Old Bar");
+        index.rebuild(next -> {
+            next.put(2L, "New Bar");
+            assertEquals(List.of(1L), ids(index.current().search("bar", false)));
+        });
+        assertEquals(List.of(2L), ids(index.current().search("bar", false)));
+    }
+
+    // The loader plays a snapshot taken before the concurrent writes, which land halfway through the build.
+    @Test
+    void writesDuringTheRebuildSurviveTheSwap() {
+        var index = new RebuildableIndex();
+        index.rebuild(next -> {
+            next.put(1L, "Bar do Zé");
+            next.put(2L, "Boteco");
+            index.put(3L, "Bar Novo");
+            index.put(2L, "Boteco Renomeado");
+            index.remove(1L);
+            assertFalse(index.rebuild(ignored -> fail("no nested rebuild")));
+        });
+
+        assertEquals(List.of(3L), ids(index.current().search("bar", false)));
+        assertEquals(List.of(2L), ids(index.current().search("renomeado", false)));
+        assertEquals(2, index.current().documentCount());
+    }
+
+    @Test
+    void aFailedRebuildKeepsTheLiveIndex() {
+        var index = new RebuildableIndex();
+        index.put(1L, "Bar");
+        assertThrows(IllegalStateException.class, () -> index.rebuild(next -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(List.of(1L), ids(index.current().search("bar", false)));
+        assertTrue(index.rebuild(next -> next.put(2L, "Bar")));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+}
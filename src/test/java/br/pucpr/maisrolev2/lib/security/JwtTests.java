@@ -0,0 +1,121 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import br.pucpr.maisrolev2.rest.Role;
+import br.pucpr.maisrolev2.rest.users.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Every layout a token in circulation can have: the user entity embedded under "user" (before "ver"),
+// version 1 with "rol", and versions this build does not know.
+class JwtTests {
+    private static final String ISSUER = "MaisRole Tests";
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    private JWT jwt;
+
+    @BeforeEach
+    void setUp() {
+        var settings = new SecuritySettings();
+        settings.setIssuer(ISSUER);
+        settings.setSecret(SECRET);
+        jwt = new JWT(settings, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void issuedTokensCarryTheIdAndRoles() {
+        var user = new User();
+        user.setId(42L);
+        user.setUsername("johndoe");
+        user.setRoles(new HashSet<>(Set.of(Role.ADMIN)));
+
+        var claims = JWT.verify(jwt.createToken(user));
+
+        assertEquals("42", claims.getSubject());
+        assertEquals(1, claims.get("ver", Integer.class));
+        assertEquals(List.of("ADMIN"), claims.get("rol"));
+        assertNull(claims.get("user"));
+        assertAuthenticated(JWT.toAuthentication(claims), 42L, "ADMIN");
+    }
+
+    @Test
+    void versionOneTokensAuthenticate() {
+        var auth = authenticate(token("7", Map.of("ver", 1, "rol", List.of("USER", "ADMIN"))));
+
+        assertAuthenticated(auth, 7L, "USER", "ADMIN");
+    }
+
+    @Test
+    void legacyTokensReadTheRolesOfTheEmbeddedUser() {
+        var user = Map.of("id", 7, "username", "johndoe", "password", "hash", "roles", List.of("USER"),
+                "personalData", Map.of("firstName", "John", "email", "john@email.com"));
+
+        var auth = authenticate(token("7", Map.of("user", user)));
+
+        assertAuthenticated(auth, 7L, "USER");
+    }
+
+    @Test
+    void legacyTokensWithoutAUserAreRejected() {
+        assertNull(authenticate(token("7", Map.of())));
+    }
+
+    @Test
+    void unknownVersionsAreRejected() {
+        assertNull(authenticate(token("7", Map.of("ver", 2, "rol", List.of("ADMIN")))));
+    }
+
+    @Test
+    void otherIssuersAndMissingSubjectsAreRejected() {
+        var foreign = Jwts.builder()
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .setIssuer("someone else")
+                .setSubject("7")
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .addClaims(Map.of("ver", 1, "rol", List.of("ADMIN")))
+                .compact();
+
+        assertNull(authenticate(foreign));
+        assertNull(authenticate(token(null, Map.of("ver", 1, "rol", List.of("ADMIN")))));
+    }
+
+    private static Authentication authenticate(String token) {
+        return JWT.toAuthentication(JWT.verify(token));
+    }
+
+    private static void assertAuthenticated(Authentication auth, Long id, String... roles) {
+        var principal = (AuthenticatedUser) auth.getPrincipal();
+        assertEquals(id, principal.id());
+        assertEquals(List.of(roles), principal.roles());
+        assertEquals(id, auth.getCredentials());
+        assertEquals(Stream.of(roles).map(r -> "ROLE_" + r).toList(),
+                auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    private static String token(String subject, Map<String, Object> claims) {
+        return Jwts.builder()
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .setIssuer(ISSUER)
+                .setSubject(subject)
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .addClaims(claims)
+                .compact();
+    }
+}
@@ -0,0 +1,128 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import br.pucpr.maisrolev2.lib.exception.ExceptionHandlers;
+import br.pucpr.maisrolev2.lib.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// One login thread with room for one waiting check. The encoder can be held so checks pile up, and it
+// records the threads it ran on.
+class PasswordHasherTests {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private volatile boolean hold;
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    void setUp() {
+        var settings = new SecuritySettings();
+        settings.setPasswordThreads(1);
+        settings.setPasswordQueueCapacity(1);
+        settings.setBulkPasswordThreads(2);
+        hasher = new PasswordHasher(new HoldingEncoder(), settings);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        hasher.shutdown();
+    }
+
+    @Test
+    void plaintextPasswordsMatchAndAreUpgradedToBCrypt() {
+        var verification = hasher.verify("mYp@s$w0rd", "mYp@s$w0rd").join();
+
+        assertTrue(verification.matches());
+        assertTrue(new BCryptPasswordEncoder(4).matches("mYp@s$w0rd", verification.upgradedHash()));
+        assertFalse(hasher.verify("wrong", "mYp@s$w0rd").join().matches());
+    }
+
+    @Test
+    void currentHashesAreNotUpgraded() {
+        var hash = hasher.hash("mYp@s$w0rd").join();
+
+        var verification = hasher.verify("mYp@s$w0rd", hash).join();
+
+        assertTrue(verification.matches());
+        assertNull(verification.upgradedHash());
+    }
+
+    @Test
+    void checksBeyondTheQueueAreShedWithA503() throws InterruptedException {
+        hold = true;
+        var running = hasher.hash("first");
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        var queued = hasher.hash("second");
+
+        var e = assertThrows(ServiceUnavailableException.class, () -> hasher.verify("third", "third"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE,
+                new ExceptionHandlers().handleServiceUnavailableException(e).getStatusCode());
+
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+
+    // Runs while the login pool is saturated: a batch neither waits for it nor is shed by it.
+    @Test
+    void batchesAreHashedInOrderOnTheBulkPool() throws InterruptedException {
+        hold = true;
+        hasher.hash("first");
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        hasher.hash("second");
+        hold = false;
+        threads.clear();
+        var raws = IntStream.range(0, 20).mapToObj(i -> "password" + i).toList();
+
+        var hashes = hasher.hashAll(raws);
+
+        var encoder = new BCryptPasswordEncoder(4);
+        assertEquals(raws.size(), hashes.size());
+        for (int i = 0; i < raws.size(); i++) assertTrue(encoder.matches(raws.get(i), hashes.get(i)));
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().noneMatch(t -> t.startsWith("password-hash-")), threads.toString());
+        assertTrue(threads.stream().noneMatch(t -> t.startsWith("ForkJoinPool")), threads.toString());
+        assertEquals(List.of(), hasher.hashAll(List.of()));
+    }
+
+    private class HoldingEncoder implements PasswordEncoder {
+        private final PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+
+        @Override
+        public String encode(CharSequence raw) {
+            threads.add(Thread.currentThread().getName());
+            if (hold && Thread.currentThread().getName().startsWith("password-hash-")) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return delegate.encode(raw);
+        }
+
+        @Override
+        public boolean matches(CharSequence raw, String encoded) {
+            return delegate.matches(raw, encoded);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.pucpr.maisrolev2.lib.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The cache runs on a fake ticker, so entries can be aged past exp while the tokens themselves stay valid.
+class TokenCacheTests {
+    private static final String ISSUER = "MaisRole Tests";
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    private final AtomicLong now = new AtomicLong();
+    private TokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        var settings = new SecuritySettings();
+        settings.setIssuer(ISSUER);
+        settings.setSecret(SECRET);
+        new JWT(settings, new SimpleMeterRegistry());
+        now.set(TokenCache.WALL_CLOCK.read());
+        cache = new TokenCache(settings, now::get);
+    }
+
+    @Test
+    void verifiedTokensAreServedFromTheCache() {
+        var token = sign(SECRET, ISSUER, expiresInSeconds(60));
+
+        var first = cache.authenticate(token);
+        var second = cache.authenticate(token);
+
+        assertSame(first, second);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    void otherTokensAreMisses() {
+        cache.authenticate(sign(SECRET, ISSUER, expiresInSeconds(60)));
+        var other = cache.authenticate(sign(SECRET, ISSUER, "2", expiresInSeconds(60)));
+
+        assertEquals(2L, ((AuthenticatedUser) other.getPrincipal()).id());
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void entriesExpireAtTheExpClaim() {
+        var exp = expiresInSeconds(60);
+        var token = sign(SECRET, ISSUER, exp);
+        cache.authenticate(token);
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(exp.getTime()) - 1);
+        cache.authenticate(token);
+        assertEquals(1, cache.stats().hitCount());
+
+        now.set(TimeUnit.MILLISECONDS.toNanos(exp.getTime()));
+        cache.authenticate(token);
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(2, cache.stats().missCount());
+    }
+
+    @Test
+    void badSignaturesAreNeverCached() {
+        var forged = sign("another-secret-that-is-long-enough-for-hs256", ISSUER, expiresInSeconds(60));
+
+        assertThrows(JwtException.class, () -> cache.authenticate(forged));
+        assertThrows(JwtException.class, () -> cache.authenticate(forged));
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    @Test
+    void tokensThatDoNotAuthenticateAreNotCached() {
+        var token = sign(SECRET, "someone else", expiresInSeconds(60));
+
+        assertNull(cache.authenticate(token));
+        assertNull(cache.authenticate(token));
+        assertEquals(0, cache.stats().hitCount());
+    }
+
+    private Date expiresInSeconds(long seconds) {
+        // exp has whole seconds, so round the way the token will.
+        return new Date(TimeUnit.NANOSECONDS.toSeconds(now.get()) * 1000 + seconds * 1000);
+    }
+
+    private static String sign(String secret, String issuer, Date expiration) {
+        return sign(secret, issuer, "1", expiration);
+    }
+
+    private static String sign(String secret, String issuer, String subject, Date expiration) {
+        return Jwts.builder()
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+                .setIssuer(issuer)
+                .setSubject(subject)
+                .setExpiration(expiration)
+                .addClaims(Map.of("ver", 1, "rol", List.of("USER")))
+                .compact();
+    }
+}
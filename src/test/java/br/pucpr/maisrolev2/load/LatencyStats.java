@@ -0,0 +1,44 @@
+package br.pucpr.maisrolev2.load;
+
+import java.util.Arrays;
+
+final class LatencyStats {
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long nanos, boolean ok) {
+        if (!ok) {
+            errors++;
+            return;
+        }
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+    }
+
+    synchronized String summary(String name, double seconds) {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return String.format("%-16s %9d %10.1f %9.2f %9.2f %7d",
+                name, count, count / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized long errors() {
+        return errors;
+    }
+
+    synchronized double errorRatio() {
+        var total = count + errors;
+        return total == 0 ? 0 : (double) errors / total;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        var index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,89 @@
+package br.pucpr.maisrolev2.load;
+
+import br.pucpr.maisrolev2.rest.Role;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.rest.reviews.ReviewRepository;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.UserPersonalData;
+import br.pucpr.maisrolev2.rest.users.UserRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+final class LoadSeeder {
+    static final String PASSWORD = "mYp@s$w0rd";
+    private static final int CHUNK = 1000;
+
+    private final UserRepository userRepository;
+    private final HostRepository hostRepository;
+    private final ReviewRepository reviewRepository;
+
+    LoadSeeder(UserRepository userRepository, HostRepository hostRepository, ReviewRepository reviewRepository) {
+        this.userRepository = userRepository;
+        this.hostRepository = hostRepository;
+        this.reviewRepository = reviewRepository;
+    }
+
+    record Seeded(List<User> users, List<Host> hosts) {}
+
+    Seeded seed(int userCount, int hostCount, int reviewCount) {
+        var users = new ArrayList<User>(userCount);
+        for (int i = 0; i < userCount; i += CHUNK) {
+            var chunk = new ArrayList<User>();
+            for (int j = i; j < Math.min(userCount, i + CHUNK); j++) chunk.add(user(j));
+            users.addAll(userRepository.saveAll(chunk));
+        }
+
+        var hosts = new ArrayList<Host>(hostCount);
+        for (int i = 0; i < hostCount; i += CHUNK) {
+            var chunk = new ArrayList<Host>();
+            for (int j = i; j < Math.min(hostCount, i + CHUNK); j++) chunk.add(host(j));
+            hosts.addAll(hostRepository.saveAll(chunk));
+        }
+
+        for (int i = 0; i < reviewCount; i += CHUNK) {
+            var chunk = new ArrayList<Review>();
+            for (int j = i; j < Math.min(reviewCount, i + CHUNK); j++) {
+                var review = new Review();
+                review.setRating(j % 5 + 1);
+                review.setText("Seeded review " + j);
+                review.setUser(users.get(j % users.size()));
+                review.setHost(hosts.get(j % hosts.size()));
+                chunk.add(review);
+            }
+            reviewRepository.saveAll(chunk);
+        }
+        return new Seeded(users, hosts);
+    }
+
+    static String username(int i) {
+        return "seeded" + i;
+    }
+
+    private static User user(int i) {
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("Seeded");
+        personalData.setLastName("User " + i);
+        personalData.setEmail(username(i) + "@email.com");
+
+        var user = new User();
+        user.setUsername(username(i));
+        user.setPassword(PASSWORD);
+        // Registered users get USER; without it /users/me/reviews answers 403.
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user.setPersonalData(personalData);
+        return user;
+    }
+
+    private static Host host(int i) {
+        var host = new Host();
+        host.setHostName("Seeded Host " + i);
+        host.setHostTypes(Set.of(HostType.values()[i % HostType.values().length]));
+        return host;
+    }
+}
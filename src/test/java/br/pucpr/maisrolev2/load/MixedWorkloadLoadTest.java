@@ -0,0 +1,175 @@
+package br.pucpr.maisrolev2.load;
+
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.reviews.ReviewRepository;
+import br.pucpr.maisrolev2.rest.users.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Mixed read/write workload against the application on the embedded H2 database of the "test" profile.
+// Sizes and duration come from system properties, e.g.:
+//   ./mvnw -Pload-test test -Dload.users=5000 -Dload.hosts=2000 -Dload.reviews=50000 -Dload.concurrency=128
+// Add -Pjdk21 -Dspring.profiles.include=virtual-threads to measure the virtual-thread mode.
+@Tag("load")
+@ActiveProfiles("test")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MixedWorkloadLoadTest {
+    enum Operation {
+        REGISTER(5), LOGIN(10), MY_REVIEWS(25), HOST(35), USER_LIST(10), HOST_LIST(15);
+
+        final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+    @Value("${threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private ObjectMapper mapper;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final AtomicLong registrations = new AtomicLong();
+    private LoadSeeder.Seeded seeded;
+    private List<String> tokens;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        var userCount = Integer.getInteger("load.users", 1000);
+        var concurrency = Integer.getInteger("load.concurrency", 64);
+        var warmupSeconds = Long.getLong("load.warmup-seconds", 5);
+        var seconds = Long.getLong("load.seconds", 30);
+        var maxErrorRatio = Double.parseDouble(System.getProperty("load.max-error-ratio", "0.01"));
+
+        seeded = new LoadSeeder(userRepository, hostRepository, reviewRepository)
+                .seed(userCount, Integer.getInteger("load.hosts", 500), Integer.getInteger("load.reviews", 5000));
+        tokens = new ArrayList<>();
+        for (int i = 0; i < Math.min(userCount, 100); i++) tokens.add(login(LoadSeeder.username(i)));
+
+        var stats = new EnumMap<Operation, LatencyStats>(Operation.class);
+        for (var op : Operation.values()) stats.put(op, new LatencyStats());
+
+        var executor = Executors.newFixedThreadPool(concurrency);
+        var measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        var end = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        for (int i = 0; i < concurrency; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    var op = pick();
+                    var start = System.nanoTime();
+                    var ok = execute(op);
+                    if (start >= measureFrom) stats.get(op).record(System.nanoTime() - start, ok);
+                }
+                return null;
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(warmupSeconds + seconds + 60, TimeUnit.SECONDS));
+
+        report(stats, seconds, concurrency);
+        // A rejected request is fast and would otherwise flatter the numbers, so every operation must mostly succeed.
+        stats.forEach((op, s) -> {
+            assertTrue(s.count() > 0, op + " had no successful requests");
+            assertTrue(s.errorRatio() <= maxErrorRatio,
+                    String.format("%s failed %d of %d requests", op, s.errors(), s.count() + s.errors()));
+        });
+    }
+
+    private Operation pick() {
+        var roll = ThreadLocalRandom.current().nextInt(100);
+        for (var op : Operation.values()) {
+            roll -= op.weight;
+            if (roll < 0) return op;
+        }
+        return Operation.HOST;
+    }
+
+    private boolean execute(Operation op) {
+        var random = ThreadLocalRandom.current();
+        try {
+            var status = switch (op) {
+                case REGISTER -> {
+                    var n = registrations.incrementAndGet();
+                    yield post("/users/register", Map.of(
+                            "username", "load" + n,
+                            "password", LoadSeeder.PASSWORD,
+                            "personalData", Map.of("firstName", "Load", "lastName", "Test", "email", "load" + n + "@email.com")
+                    )).statusCode();
+                }
+                case LOGIN -> post("/users/login", Map.of(
+                        "username", LoadSeeder.username(random.nextInt(seeded.users().size())),
+                        "password", LoadSeeder.PASSWORD
+                )).statusCode();
+                case MY_REVIEWS -> get("/users/me/reviews", tokens.get(random.nextInt(tokens.size()))).statusCode();
+                case HOST -> get("/hosts/" + seeded.hosts().get(random.nextInt(seeded.hosts().size())).getId(), null).statusCode();
+                case USER_LIST -> get("/users/all?size=50", null).statusCode();
+                case HOST_LIST -> get("/hosts/all?size=50", null).statusCode();
+            };
+            return status >= 200 && status < 300;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String login(String username) throws Exception {
+        var res = post("/users/login", Map.of("username", username, "password", LoadSeeder.PASSWORD));
+        return mapper.readTree(res.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        var req = HttpRequest.newBuilder(uri(path)).GET();
+        if (token != null) req.header("Authorization", "Bearer " + token);
+        return client.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, Object body) throws Exception {
+        var req = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        return client.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + contextPath + path);
+    }
+
+    private void report(Map<Operation, LatencyStats> stats, long seconds, int concurrency) {
+        System.out.printf("threads=%s concurrency=%d duration=%ds%n",
+                virtualThreads ? "virtual" : "platform", concurrency, seconds);
+        System.out.printf("%-16s %9s %10s %9s %9s %7s%n", "operation", "requests", "req/s", "p50 ms", "p99 ms", "errors");
+        stats.forEach((op, s) -> System.out.println(s.summary(op.name(), seconds)));
+    }
+}
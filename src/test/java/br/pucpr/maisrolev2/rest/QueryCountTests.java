@@ -0,0 +1,215 @@
+package br.pucpr.maisrolev2.rest;
+
+import br.pucpr.maisrolev2.lib.security.JWT;
+import br.pucpr.maisrolev2.rest.hosts.Address;
+import br.pucpr.maisrolev2.rest.hosts.Contact;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.Agenda;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.OpeningHours;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.WeekDays;
+import br.pucpr.maisrolev2.rest.reviews.Review;
+import br.pucpr.maisrolev2.rest.reviews.ReviewRepository;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.UserPersonalData;
+import br.pucpr.maisrolev2.rest.users.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statements per endpoint with the second-level cache emptied first, so the counts reflect the fetch
+// plans alone. A lazy association read outside its plan shows up here as an extra select.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryCountTests {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private JWT jwt;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void hostById() throws Exception {
+        var host = persistHosts(1).get(0);
+        // The host through Host.DETAIL, then its agenda's opening hours.
+        assertEquals(2, statements(get("/hosts/{id}", host.getId())));
+    }
+
+    @Test
+    void hostPage() throws Exception {
+        persistHosts(5);
+        // The page's ids, its hosts through Host.DETAIL, and one batch of opening hours for all their agendas.
+        assertEquals(3, statements(get("/hosts/all").param("size", "50")));
+    }
+
+    @Test
+    void nearbyHosts() throws Exception {
+        persistHosts(5);
+        // The candidates' coordinates, the page's hosts through Host.DETAIL, and one batch of opening hours.
+        assertEquals(3, statements(get("/hosts/nearby")
+                .param("lat", "-25.4522").param("lon", "-49.2522").param("radius", "1000")));
+    }
+
+    @Test
+    void userById() throws Exception {
+        var user = persistUser();
+        assertEquals(1, statements(get("/users/{id}", user.getId())));
+    }
+
+    @Test
+    void userPage() throws Exception {
+        persistUser();
+        assertEquals(1, statements(get("/users/all").param("size", "50")));
+    }
+
+    @Test
+    void ownReviews() throws Exception {
+        var user = persistUser();
+        var hosts = persistHosts(3);
+        transactionTemplate.executeWithoutResult(s -> hosts.forEach(host -> {
+            var review = new Review();
+            review.setRating(5);
+            review.setText("Great place");
+            review.setHost(host);
+            review.setUser(user);
+            reviewRepository.save(review);
+        }));
+        assertEquals(1, statements(get("/users/me/reviews").header(HttpHeaders.AUTHORIZATION, bearer(user))));
+    }
+
+    @Test
+    void patchOwnUser() throws Exception {
+        var user = persistUser();
+        var sql = sql(patch("/users/me")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"personalData\": {\"firstName\": \"Jane\"}}"));
+        // One select for the user and its personal data, then only the changed column is written:
+        // not the user row, its roles or its reviews.
+        assertEquals(1, sql.stream().filter(s -> s.startsWith("select ")).count());
+        assertEquals(List.of("update user_personal_data set first_name=? where id=?"), writes(sql));
+    }
+
+    @Test
+    void patchOwnUsername() throws Exception {
+        var user = persistUser();
+        var sql = sql(patch("/users/me")
+                .header(HttpHeaders.AUTHORIZATION, bearer(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\": \"patched" + user.getId() + "\"}"));
+        assertEquals(1, sql.stream().filter(s -> s.startsWith("select ")).count());
+        assertEquals(List.of("update user set username=?, username_key=? where id=?"), writes(sql));
+    }
+
+    private long statements(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        mvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    // The SQL Hibernate prepared for the request, in order.
+    private List<String> sql(MockHttpServletRequestBuilder request) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        SqlRecorder.start();
+        try {
+            mvc.perform(request).andExpect(status().isOk());
+            return SqlRecorder.recorded();
+        } finally {
+            SqlRecorder.stop();
+        }
+    }
+
+    private static List<String> writes(List<String> sql) {
+        return sql.stream().filter(s -> !s.startsWith("select ")).toList();
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwt.createToken(user);
+    }
+
+    private User persistUser() {
+        var n = SEQUENCE.incrementAndGet();
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setEmail("querycount" + n + "@email.com");
+
+        var user = new User();
+        user.setUsername("querycount" + n);
+        user.setPassword("mYp@s$w0rd");
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user.setPersonalData(personalData);
+        return transactionTemplate.execute(s -> userRepository.save(user));
+    }
+
+    private List<Host> persistHosts(int count) {
+        return transactionTemplate.execute(s -> {
+            var hosts = new ArrayList<Host>();
+            for (int i = 0; i < count; i++) {
+                var n = SEQUENCE.incrementAndGet();
+                var contact = new Contact();
+                contact.setEmail("host" + n + "@email.com");
+                var address = new Address();
+                address.setCity("Curitiba");
+                address.setLatitude(-25.4522 + i * 0.0001);
+                address.setLongitude(-49.2522);
+
+                var host = new Host();
+                host.setHostName("Query Count Host " + n);
+                host.setHostTypes(new HashSet<>(Set.of(HostType.BAR, HostType.PARTY)));
+                host.setContact(contact);
+                host.setAddress(address);
+                host.setAgenda(new Agenda(List.of(
+                        new OpeningHours(WeekDays.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0)),
+                        new OpeningHours(WeekDays.SATURDAY, LocalTime.of(18, 0), LocalTime.of(2, 0)))));
+                hosts.add(hostRepository.save(host));
+            }
+            return hosts;
+        });
+    }
+}
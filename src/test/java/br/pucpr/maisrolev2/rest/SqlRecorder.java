@@ -0,0 +1,31 @@
+package br.pucpr.maisrolev2.rest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Registered as the test profile's statement inspector. Keeps the SQL Hibernate prepares on the calling
+// thread between start() and stop(), so statements of background workers do not get mixed in.
+public class SqlRecorder implements StatementInspector {
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> recorded() {
+        return List.copyOf(RECORDED.get());
+    }
+
+    public static void stop() {
+        RECORDED.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var recorded = RECORDED.get();
+        if (recorded != null) recorded.add(sql);
+        return sql;
+    }
+}
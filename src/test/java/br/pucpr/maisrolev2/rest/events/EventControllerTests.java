@@ -0,0 +1,115 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EventControllerTests {
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 6, 2, 20, 0);
+    private static final LocalDateTime TO = FROM.plusHours(3);
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Host host;
+
+    // The database is shared by every test in the context, so each one starts without events.
+    @BeforeEach
+    void persistHost() {
+        transactionTemplate.executeWithoutResult(s -> eventRepository.deleteAll());
+        var host = new Host();
+        host.setHostName("Event Controller Host");
+        this.host = transactionTemplate.execute(s -> hostRepository.save(host));
+    }
+
+    @Test
+    void eventsInTheWindowAreReturnedAsResponses() throws Exception {
+        var event = persist("jazz night", HostType.BAR, FROM.minusHours(1), FROM.plusHours(1));
+        persist("happy hour", HostType.BAR, FROM.minusHours(3), FROM);
+        persist("late party", HostType.PARTY, TO, TO.plusHours(4));
+
+        mvc.perform(get("/events").param("from", FROM.toString()).param("to", TO.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(contains("jazz night")))
+                .andExpect(jsonPath("$.content[0].id").value(event.getId()))
+                .andExpect(jsonPath("$.content[0].hostId").value(host.getId()))
+                .andExpect(jsonPath("$.content[0]", not(hasKey("host"))))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')]").isEmpty());
+    }
+
+    @Test
+    void typeFiltersTheWindow() throws Exception {
+        persist("quiz", HostType.BAR, FROM, FROM.plusHours(1));
+        persist("rave", HostType.PARTY, FROM.plusHours(1), TO.plusHours(3));
+
+        mvc.perform(get("/events").param("from", FROM.toString()).param("to", TO.toString())
+                        .param("type", "PARTY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(contains("rave")));
+    }
+
+    @Test
+    void fullPagesLinkToTheNextOne() throws Exception {
+        persist("first", HostType.BAR, FROM, FROM.plusHours(1));
+        persist("second", HostType.BAR, FROM.plusMinutes(30), FROM.plusHours(1));
+
+        mvc.perform(get("/events").param("from", FROM.toString()).param("to", TO.toString())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].name").value(contains("first")))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')].href").isNotEmpty());
+    }
+
+    @Test
+    void emptyWindowsAreRejected() throws Exception {
+        mvc.perform(get("/events").param("from", FROM.toString()).param("to", FROM.toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void eventByIdIsAResponse() throws Exception {
+        var event = persist("brunch", HostType.BAR, FROM, FROM.plusHours(2));
+
+        mvc.perform(get("/events/{id}", event.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("brunch"))
+                .andExpect(jsonPath("$.hostId").value(host.getId()))
+                .andExpect(jsonPath("$", not(hasKey("host"))));
+    }
+
+    private Event persist(String name, HostType type, LocalDateTime startsAt, LocalDateTime endsAt) {
+        var event = new Event();
+        event.setHost(host);
+        event.setName(name);
+        event.setType(type);
+        event.setStartsAt(startsAt);
+        event.setEndsAt(endsAt);
+        return transactionTemplate.execute(s -> eventRepository.save(event));
+    }
+}
@@ -0,0 +1,117 @@
+package br.pucpr.maisrolev2.rest.events;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The window is [from, to); an event overlaps it when it starts before to and ends after from.
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EventRepositoryTests {
+    private static final LocalDateTime FROM = LocalDateTime.of(2023, 6, 2, 20, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2023, 6, 2, 23, 0);
+    private static final Duration MAX_DURATION = Duration.ofDays(7);
+    private static final PageRequest PAGE = PageRequest.of(0, 50, Sort.by("startsAt", "id"));
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EventRepository eventRepository;
+
+    private Host host;
+
+    @BeforeEach
+    void persistHost() {
+        host = new Host();
+        host.setHostName("Event Host");
+        entityManager.persist(host);
+    }
+
+    @Test
+    void eventsTouchingTheWindowFromOutsideAreExcluded() {
+        persist("ends at from", HostType.BAR, FROM.minusHours(2), FROM);
+        persist("starts at to", HostType.BAR, TO, TO.plusHours(2));
+        persist("before", HostType.BAR, FROM.minusHours(5), FROM.minusHours(3));
+        persist("after", HostType.BAR, TO.plusHours(1), TO.plusHours(3));
+
+        assertEquals(List.of(), names(eventRepository.findOverlapping(FROM.minus(MAX_DURATION), FROM, TO, PAGE)));
+    }
+
+    @Test
+    void eventsOverlappingTheWindowAreIncludedInStartOrder() {
+        persist("inside", HostType.BAR, FROM.plusHours(1), FROM.plusHours(2));
+        persist("ends just after from", HostType.BAR, FROM.minusHours(2), FROM.plusMinutes(1));
+        persist("starts at from", HostType.BAR, FROM, FROM.plusHours(1));
+        persist("starts just before to", HostType.BAR, TO.minusMinutes(1), TO.plusHours(2));
+        persist("spans the window", HostType.BAR, FROM.minusHours(1), TO.plusHours(1));
+
+        assertEquals(List.of("ends just after from", "spans the window", "starts at from", "inside",
+                        "starts just before to"),
+                names(eventRepository.findOverlapping(FROM.minus(MAX_DURATION), FROM, TO, PAGE)));
+    }
+
+    @Test
+    void eventsStartingAtTheEarliestBoundAreIncluded() {
+        persist("longest", HostType.BAR, FROM.minus(MAX_DURATION), FROM.plusHours(1));
+
+        assertEquals(List.of("longest"),
+                names(eventRepository.findOverlapping(FROM.minus(MAX_DURATION), FROM, TO, PAGE)));
+    }
+
+    @Test
+    void typeFiltersTheWindow() {
+        persist("bar", HostType.BAR, FROM, FROM.plusHours(1));
+        persist("party", HostType.PARTY, FROM.plusHours(1), FROM.plusHours(2));
+        persist("party outside", HostType.PARTY, TO, TO.plusHours(1));
+
+        assertEquals(List.of("party"),
+                names(eventRepository.findOverlapping(HostType.PARTY, FROM.minus(MAX_DURATION), FROM, TO, PAGE)));
+    }
+
+    @Test
+    void slicesReportWhetherThereIsAnotherPage() {
+        for (int i = 0; i < 3; i++) persist("event " + i, HostType.BAR, FROM.plusMinutes(i), FROM.plusHours(1));
+
+        var first = eventRepository.findOverlapping(FROM.minus(MAX_DURATION), FROM, TO,
+                PageRequest.of(0, 2, Sort.by("startsAt", "id")));
+        var second = eventRepository.findOverlapping(FROM.minus(MAX_DURATION), FROM, TO,
+                PageRequest.of(1, 2, Sort.by("startsAt", "id")));
+
+        assertEquals(List.of("event 0", "event 1"), names(first));
+        assertTrue(first.hasNext());
+        assertEquals(List.of("event 2"), names(second));
+        assertFalse(second.hasNext());
+    }
+
+    private void persist(String name, HostType type, LocalDateTime startsAt, LocalDateTime endsAt) {
+        var event = new Event();
+        event.setHost(host);
+        event.setName(name);
+        event.setType(type);
+        event.setStartsAt(startsAt);
+        event.setEndsAt(endsAt);
+        entityManager.persist(event);
+    }
+
+    private static List<String> names(Slice<Event> events) {
+        return events.map(Event::getName).getContent();
+    }
+}
@@ -0,0 +1,173 @@
+package br.pucpr.maisrolev2.rest.hosts;
+
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.security.JWT;
+import br.pucpr.maisrolev2.rest.Role;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.Agenda;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.OpeningHours;
+import br.pucpr.maisrolev2.rest.hosts.Agenda.WeekDays;
+import br.pucpr.maisrolev2.rest.users.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Hosts are read with the Host.DETAIL graph and the agendas' opening hours by a separate batch, so the
+// agenda tests empty the second-level cache before reading to go through both. Hosts other tests leave in
+// the shared database have lower ids, so a page starting just before a test's hosts holds only those.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HostControllerTests {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private JWT jwt;
+
+    @Test
+    void hostIsReturnedWithItsOpeningHours() throws Exception {
+        var host = persist("Agenda Host", new Agenda(List.of(
+                new OpeningHours(WeekDays.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0)),
+                new OpeningHours(WeekDays.SATURDAY, LocalTime.of(20, 0), LocalTime.of(4, 0)))));
+        entityManagerFactory.getCache().evictAll();
+
+        mvc.perform(get("/hosts/{id}", host.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hostName").value("Agenda Host"))
+                .andExpect(jsonPath("$.openingHours[*].day").value(contains("FRIDAY", "SATURDAY")))
+                .andExpect(jsonPath("$.openingHours[*].opens").value(contains("18:00:00", "20:00:00")))
+                .andExpect(jsonPath("$.openingHours[*].closes").value(contains("02:00:00", "04:00:00")));
+    }
+
+    @Test
+    void hostWithoutAnAgendaHasNoOpeningHours() throws Exception {
+        var host = persist("No Agenda Host", null);
+        entityManagerFactory.getCache().evictAll();
+
+        mvc.perform(get("/hosts/{id}", host.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openingHours").value(empty()));
+    }
+
+    @Test
+    void eachHostOfAPageGetsItsOwnOpeningHours() throws Exception {
+        var first = persist("First Page Host", new Agenda(List.of(
+                new OpeningHours(WeekDays.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0)))));
+        var second = persist("Second Page Host", new Agenda(List.of(
+                new OpeningHours(WeekDays.SUNDAY, LocalTime.of(10, 0), LocalTime.of(14, 0)),
+                new OpeningHours(WeekDays.TUESDAY, LocalTime.of(19, 0), LocalTime.of(23, 0)))));
+        entityManagerFactory.getCache().evictAll();
+
+        mvc.perform(get("/hosts/all").param("cursor", String.valueOf(first.getId() - 1)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.content[0].openingHours[*].day").value(contains("MONDAY")))
+                .andExpect(jsonPath("$.content[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.content[1].openingHours[*].day").value(contains("SUNDAY", "TUESDAY")));
+    }
+
+    @Test
+    void pagesFollowTheCursorAndLinkToTheNextOne() throws Exception {
+        var hosts = List.of(persist("Cursor Host 1", null), persist("Cursor Host 2", null), persist("Cursor Host 3", null));
+
+        mvc.perform(get("/hosts/all").param("cursor", String.valueOf(hosts.get(0).getId() - 1)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].hostName").value(contains("Cursor Host 1", "Cursor Host 2")))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')].href")
+                        .value(contains(containsString("cursor=" + hosts.get(1).getId() + "&size=2"))));
+
+        // Hosts persisted last have the highest ids, so this is the last page.
+        mvc.perform(get("/hosts/all").param("cursor", String.valueOf(hosts.get(1).getId())).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].hostName").value(contains("Cursor Host 3")))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')]").isEmpty());
+    }
+
+    @Test
+    void sizeIsClampedToTheConfiguredBounds() throws Exception {
+        persist("Clamped Host", null);
+
+        mvc.perform(get("/hosts/all").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'self')].href").value(contains(containsString("size=200"))));
+        mvc.perform(get("/hosts/all").param("size", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'self')].href").value(contains(containsString("size=50"))));
+    }
+
+    @Test
+    void exportWritesOneHostPerLine() throws Exception {
+        var host = persist("Exported Host", new Agenda(List.of(
+                new OpeningHours(WeekDays.FRIDAY, LocalTime.of(18, 0), LocalTime.of(2, 0)))));
+        var admin = new User();
+        admin.setId(1L);
+        admin.setRoles(new HashSet<>(Set.of(Role.ADMIN)));
+
+        var body = mvc.perform(get("/hosts/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.createToken(admin)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonExporter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        var lines = body.split("\n");
+        assertEquals(hostRepository.count(), lines.length);
+        var last = mapper.readTree(lines[lines.length - 1]);
+        assertEquals(host.getId(), last.get("id").asLong());
+        assertEquals("Exported Host", last.get("hostName").asText());
+        assertEquals("FRIDAY", last.at("/agenda/openingHours/0/day").asText());
+    }
+
+    // Uploads are refused by the filter chain, before the multipart body is parsed.
+    @Test
+    void importIsForAdminsOnly() throws Exception {
+        var file = new MockMultipartFile("file", "hosts.csv", "text/csv", "hostName\nImported\n".getBytes());
+        var user = new User();
+        user.setId(1L);
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+
+        mvc.perform(multipart("/hosts/import").file(file))
+                .andExpect(status().isUnauthorized());
+        mvc.perform(multipart("/hosts/import").file(file)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.createToken(user)))
+                .andExpect(status().isForbidden());
+    }
+
+    private Host persist(String name, Agenda agenda) {
+        var host = new Host();
+        host.setHostName(name);
+        host.setHostTypes(new HashSet<>(Set.of(HostType.BAR)));
+        host.setAgenda(agenda);
+        return transactionTemplate.execute(s -> hostRepository.save(host));
+    }
+}
@@ -0,0 +1,154 @@
+package br.pucpr.maisrolev2.rest.hosts.imports;
+
+import br.pucpr.maisrolev2.lib.imports.ImportSettings;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.hosts.HostType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The chunk size and queue capacity are read on every chunk, so the tests shrink them on the shared
+// settings to get several chunks out of a few rows. A row with an unterminated quote is malformed
+// syntax and fails the import where it is read.
+@SpringBootTest
+@ActiveProfiles("test")
+class HostImportServiceTests {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final String HEADER = "hostName,hostTypes,city\n";
+    private static final String MALFORMED = "\"Unterminated,BAR,Curitiba\n";
+
+    @Autowired
+    private HostImportService service;
+    @Autowired
+    private HostImportRepository repository;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private ImportSettings settings;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final int chunkSize = new ImportSettings().getChunkSize();
+    private final int queueCapacity = new ImportSettings().getQueueCapacity();
+
+    @AfterEach
+    void restoreSettings() {
+        settings.setChunkSize(chunkSize);
+        settings.setQueueCapacity(queueCapacity);
+    }
+
+    @Test
+    void aFailedImportResumesFromItsCheckpointWithoutDuplicates() throws Exception {
+        settings.setChunkSize(2);
+        settings.setQueueCapacity(1);
+        var prefix = "Imported Host " + SEQUENCE.incrementAndGet() + "-";
+        var rows = HEADER
+                + prefix + "1,BAR,Curitiba\n"
+                + prefix + "2,NOT_A_TYPE,Curitiba\n"
+                + prefix + "3,CLUB_HOUSE|PARTY,Curitiba\n"
+                + prefix + "4,,Curitiba\n";
+
+        var job = awaitDone(service.start(csv(rows + MALFORMED)).getId());
+
+        assertEquals(HostImport.Status.FAILED, job.getStatus());
+        assertEquals(4, job.getCheckpoint());
+        assertEquals(3, job.getCreated());
+        assertEquals(1, job.getRejected());
+        assertTrue(job.getLastError().contains("closing quote"), job.getLastError());
+        assertEquals(Set.of(prefix + "1", prefix + "3", prefix + "4"), imported(prefix).keySet());
+
+        // The fixed file still holds the committed rows; they are skipped, not written again.
+        Files.writeString(Path.of(job.getPath()), rows + prefix + "5,PRIVATE,Curitiba\n");
+        service.resume(job.getId());
+        job = awaitDone(job.getId());
+
+        assertEquals(HostImport.Status.COMPLETED, job.getStatus());
+        assertEquals(5, job.getCheckpoint());
+        assertEquals(4, job.getCreated());
+        assertEquals(1, job.getRejected());
+        assertEquals(1.0, job.getProgress());
+        assertFalse(Files.exists(Path.of(job.getPath())));
+        var hosts = imported(prefix);
+        assertEquals(Set.of(prefix + "1", prefix + "3", prefix + "4", prefix + "5"), hosts.keySet());
+        assertEquals(Set.of(HostType.CLUB_HOUSE, HostType.PARTY), hosts.get(prefix + "3"));
+    }
+
+    // One row per chunk and two chunks in flight: when the fifth row fails, the reader has handed the
+    // writer all but the last queued chunk, so three rows are committed and the fourth is not.
+    @Test
+    void theReaderStaysWithinQueueCapacityChunksOfTheWriter() throws Exception {
+        settings.setChunkSize(1);
+        settings.setQueueCapacity(2);
+        var prefix = "Queued Host " + SEQUENCE.incrementAndGet() + "-";
+        var rows = HEADER
+                + prefix + "1,BAR,Curitiba\n"
+                + prefix + "2,BAR,Curitiba\n"
+                + prefix + "3,BAR,Curitiba\n"
+                + prefix + "4,BAR,Curitiba\n";
+
+        var job = awaitDone(service.start(csv(rows + MALFORMED)).getId());
+
+        assertEquals(HostImport.Status.FAILED, job.getStatus());
+        assertEquals(3, job.getCheckpoint());
+        assertEquals(3, job.getCreated());
+        assertEquals(Set.of(prefix + "1", prefix + "2", prefix + "3"), imported(prefix).keySet());
+    }
+
+    @Test
+    void invalidRowsAreRejectedAndTheRestImported() throws Exception {
+        var prefix = "Validated Host " + SEQUENCE.incrementAndGet() + "-";
+        var rows = HEADER
+                + prefix + "1,BAR,Curitiba\n"
+                + ",BAR,Curitiba\n"
+                + prefix + "3,UNKNOWN,Curitiba\n"
+                + prefix + "4,PARTY,Curitiba\n";
+
+        var job = awaitDone(service.start(csv(rows)).getId());
+
+        assertEquals(HostImport.Status.COMPLETED, job.getStatus());
+        assertEquals(2, job.getCreated());
+        assertEquals(2, job.getRejected());
+        assertEquals(0, job.getFailed());
+        assertTrue(job.getLastError().startsWith("Row 3: "), job.getLastError());
+        assertEquals(Set.of(prefix + "1", prefix + "4"), imported(prefix).keySet());
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "hosts.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HostImport awaitDone(Long id) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            var job = repository.findById(id).orElseThrow();
+            if (job.getStatus() == HostImport.Status.COMPLETED || job.getStatus() == HostImport.Status.FAILED) return job;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+
+    // The host types of each imported host by name. Fails on a duplicated name, which is how a resume
+    // writing committed rows again would show.
+    private Map<String, Set<HostType>> imported(String prefix) {
+        return transactionTemplate.execute(s -> hostRepository.findAll().stream()
+                .filter(h -> h.getHostName() != null && h.getHostName().startsWith(prefix))
+                .collect(Collectors.toMap(h -> h.getHostName(),
+                        h -> h.getHostTypes() == null ? Set.of() : new HashSet<>(h.getHostTypes()))));
+    }
+}
@@ -0,0 +1,262 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import br.pucpr.maisrolev2.rest.Role;
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.hosts.HostRepository;
+import br.pucpr.maisrolev2.rest.reviews.requests.ReviewRequest;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.UserPersonalData;
+import br.pucpr.maisrolev2.rest.users.UserRepository;
+import br.pucpr.maisrolev2.rest.users.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Hosts are created either through ratingService.initialize, as HostService.add does, or without a summary,
+// as bulk-created hosts and hosts reviewed before summaries existed are.
+@SpringBootTest
+@ActiveProfiles("test")
+class HostRatingServiceTests {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private HostRatingService ratingService;
+    @Autowired
+    private ReviewService reviewService;
+    @Autowired
+    private HostRatingSummaryRepository summaryRepository;
+    @Autowired
+    private ReviewRepository reviewRepository;
+    @Autowired
+    private HostRepository hostRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void addedRemovedAndChangedReviewsUpdateTheSummary() {
+        var host = persistHost(true);
+        var user = persistUser();
+
+        var first = reviewService.create(user.getId(), request(host, 5));
+        reviewService.create(user.getId(), request(host, 3));
+        assertSummary(host, 2, 8, Map.of(5, 1L, 3, 1L));
+
+        reviewService.update(user.getId(), first.id(), request(host, 1));
+        assertSummary(host, 2, 4, Map.of(1, 1L, 3, 1L));
+
+        reviewService.delete(user.getId(), first.id());
+        assertSummary(host, 1, 3, Map.of(3, 1L));
+    }
+
+    @Test
+    void movingAReviewUpdatesBothHosts() {
+        var from = persistHost(true);
+        var to = persistHost(true);
+        var user = persistUser();
+        var review = reviewService.create(user.getId(), request(from, 4));
+
+        reviewService.update(user.getId(), review.id(), request(to, 2));
+
+        assertSummary(from, 0, 0, Map.of());
+        assertSummary(to, 1, 2, Map.of(2, 1L));
+    }
+
+    @Test
+    void hostsWithoutASummaryReportTheirExistingReviews() {
+        var host = persistHost(false);
+        persistReview(host, persistUser(), 4);
+        persistReview(host, persistUser(), 2);
+
+        var summary = ratingService.getSummary(host.getId());
+
+        assertEquals(2, summary.getCount());
+        assertEquals(3.0, summary.getMean());
+        assertFalse(summaryRepository.existsById(host.getId()));
+    }
+
+    @Test
+    void theFirstChangeSeedsTheSummaryFromExistingReviews() {
+        var host = persistHost(false);
+        persistReview(host, persistUser(), 4);
+        persistReview(host, persistUser(), 2);
+
+        reviewService.create(persistUser().getId(), request(host, 5));
+
+        assertTrue(summaryRepository.existsById(host.getId()));
+        assertSummary(host, 3, 11, Map.of(4, 1L, 2, 1L, 5, 1L));
+    }
+
+    @Test
+    void theFirstRemovalSeedsTheSummaryWithoutTheRemovedReview() {
+        var host = persistHost(false);
+        var user = persistUser();
+        var removed = persistReview(host, user, 4);
+        persistReview(host, persistUser(), 2);
+
+        reviewService.delete(user.getId(), removed.getId());
+
+        assertSummary(host, 1, 2, Map.of(2, 1L));
+    }
+
+    @Test
+    void movingAReviewToAHostWithoutASummarySeedsIt() {
+        var from = persistHost(true);
+        var to = persistHost(false);
+        persistReview(to, persistUser(), 1);
+        var user = persistUser();
+        var review = reviewService.create(user.getId(), request(from, 4));
+
+        reviewService.update(user.getId(), review.id(), request(to, 5));
+
+        assertSummary(from, 0, 0, Map.of());
+        assertSummary(to, 2, 6, Map.of(1, 1L, 5, 1L));
+    }
+
+    @Test
+    void deletingAUserTakesTheirReviewsOutOfTheSummaries() {
+        var seeded = persistHost(true);
+        var unseeded = persistHost(false);
+        var user = persistUser();
+        reviewService.create(user.getId(), request(seeded, 5));
+        persistReview(unseeded, user, 3);
+        persistReview(unseeded, persistUser(), 1);
+
+        userService.deleteUser(user.getId());
+
+        assertSummary(seeded, 0, 0, Map.of());
+        assertSummary(unseeded, 1, 1, Map.of(1, 1L));
+    }
+
+    @Test
+    void reconcileRecountsADriftedSummary() {
+        var host = persistHost(true);
+        reviewService.create(persistUser().getId(), request(host, 5));
+        reviewService.create(persistUser().getId(), request(host, 4));
+        transactionTemplate.executeWithoutResult(s -> summaryRepository.findById(host.getId()).orElseThrow().add(1, 7));
+
+        ratingService.reconcile(host.getId());
+
+        assertSummary(host, 2, 9, Map.of(5, 1L, 4, 1L));
+    }
+
+    @Test
+    void reconcileCreatesMissingSummaries() {
+        var host = persistHost(false);
+        persistReview(host, persistUser(), 3);
+
+        ratingService.reconcile(host.getId());
+
+        assertTrue(summaryRepository.existsById(host.getId()));
+        assertSummary(host, 1, 3, Map.of(3, 1L));
+    }
+
+    @Test
+    void concurrentFirstReviewsBothCount() throws Exception {
+        var host = persistHost(false);
+        persistReview(host, persistUser(), 2);
+        var users = new User[]{persistUser(), persistUser()};
+        // Both reviews are written before either transaction reaches the summary.
+        var written = new CountDownLatch(2);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var futures = IntStream.range(0, 2)
+                    .mapToObj(i -> executor.submit(() -> transactionTemplate.executeWithoutResult(s -> {
+                        var review = newReview(host, users[i], 5);
+                        reviewRepository.saveAndFlush(review);
+                        written.countDown();
+                        await(written);
+                        ratingService.reviewAdded(host.getId(), review.getRating());
+                    })))
+                    .toList();
+            for (var future : futures) future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertSummary(host, 3, 12, Map.of(2, 1L, 5, 2L));
+    }
+
+    private void assertSummary(Host host, long count, long sum, Map<Integer, Long> stars) {
+        var summary = summaryRepository.findById(host.getId()).orElseThrow();
+        assertEquals(count, summary.getCount());
+        assertEquals(sum, summary.getSum());
+        for (int rating = 1; rating <= 5; rating++) {
+            assertEquals(stars.getOrDefault(rating, 0L), summary.getHistogram().get(rating), "stars" + rating);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) throw new IllegalStateException("The other review was not written");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ReviewRequest request(Host host, int rating) {
+        var request = new ReviewRequest();
+        request.setHostId(host.getId());
+        request.setRating(rating);
+        request.setText("Review of " + host.getHostName());
+        return request;
+    }
+
+    // Written without the rating service, like reviews from before summaries existed.
+    private Review persistReview(Host host, User user, int rating) {
+        return transactionTemplate.execute(s -> reviewRepository.save(newReview(host, user, rating)));
+    }
+
+    private static Review newReview(Host host, User user, int rating) {
+        var review = new Review();
+        review.setHost(host);
+        review.setUser(user);
+        review.setRating(rating);
+        review.setText("Review of " + host.getHostName());
+        return review;
+    }
+
+    private Host persistHost(boolean withSummary) {
+        var host = new Host();
+        host.setHostName("Rated Host " + SEQUENCE.incrementAndGet());
+        return transactionTemplate.execute(s -> {
+            var saved = hostRepository.save(host);
+            if (withSummary) ratingService.initialize(saved.getId());
+            return saved;
+        });
+    }
+
+    private User persistUser() {
+        var n = SEQUENCE.incrementAndGet();
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setEmail("rating" + n + "@email.com");
+
+        var user = new User();
+        user.setUsername("rating" + n);
+        user.setPassword("mYp@s$w0rd");
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user.setPersonalData(personalData);
+        return transactionTemplate.execute(s -> userRepository.save(user));
+    }
+}
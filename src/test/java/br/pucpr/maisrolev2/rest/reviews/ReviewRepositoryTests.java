@@ -0,0 +1,81 @@
+package br.pucpr.maisrolev2.rest.reviews;
+
+import br.pucpr.maisrolev2.rest.hosts.Host;
+import br.pucpr.maisrolev2.rest.users.User;
+import br.pucpr.maisrolev2.rest.users.UserPersonalData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReviewRepositoryTests {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManager.getEntityManager()
+                .getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    void reviewsByUserAreLoadedInOneStatement(int reviewCount) {
+        var user = persistUser("user" + reviewCount);
+        var host = persistHost("Bar " + reviewCount);
+        for (int i = 0; i < reviewCount; i++) {
+            var review = new Review();
+            review.setRating(i % 5 + 1);
+            review.setText("Review " + i);
+            review.setHost(host);
+            review.setUser(user);
+            entityManager.persist(review);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        var reviews = reviewRepository.findViewsByUserId(user.getId());
+
+        assertEquals(reviewCount, reviews.size());
+        assertEquals(host.getHostName(), reviews.get(0).hostName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private User persistUser(String username) {
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setEmail(username + "@email.com");
+
+        var user = new User();
+        user.setUsername(username);
+        user.setPassword("mYp@s$w0rd");
+        user.setPersonalData(personalData);
+        return entityManager.persist(user);
+    }
+
+    private Host persistHost(String hostName) {
+        var host = new Host();
+        host.setHostName(hostName);
+        return entityManager.persist(host);
+    }
+}
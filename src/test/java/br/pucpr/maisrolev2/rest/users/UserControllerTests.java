@@ -0,0 +1,131 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.lib.export.NdjsonExporter;
+import br.pucpr.maisrolev2.lib.security.JWT;
+import br.pucpr.maisrolev2.rest.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Users other tests leave in the shared database have lower ids, so a page starting just before the
+// users a test persists holds exactly those users.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerTests {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ObjectMapper mapper;
+    @Autowired
+    private JWT jwt;
+
+    @Test
+    void pagesFollowTheCursorAndLinkToTheNextOne() throws Exception {
+        var users = List.of(persist(Role.USER), persist(Role.USER), persist(Role.USER));
+
+        mvc.perform(get("/users/all").param("cursor", String.valueOf(users.get(0).getId() - 1)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(id(users.get(0)), id(users.get(1)))))
+                .andExpect(jsonPath("$.content[0].personalData.email").value(users.get(0).getPersonalData().getEmail()))
+                .andExpect(jsonPath("$.content[0].password").doesNotExist())
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')].href")
+                        .value(contains(containsString("cursor=" + users.get(1).getId() + "&size=2"))));
+    }
+
+    @Test
+    void theLastPageHasNoNextLink() throws Exception {
+        var users = List.of(persist(Role.USER), persist(Role.USER));
+
+        mvc.perform(get("/users/all").param("cursor", String.valueOf(users.get(0).getId())).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id").value(contains(id(users.get(1)))))
+                .andExpect(jsonPath("$.links[?(@.rel == 'next')]").isEmpty());
+    }
+
+    @Test
+    void sizeIsClampedToTheConfiguredBounds() throws Exception {
+        persist(Role.USER);
+
+        mvc.perform(get("/users/all").param("size", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'self')].href").value(contains(containsString("size=200"))));
+        mvc.perform(get("/users/all").param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links[?(@.rel == 'self')].href").value(contains(containsString("size=50"))));
+    }
+
+    @Test
+    void exportWritesOneUserPerLine() throws Exception {
+        var admin = persist(Role.ADMIN);
+
+        var body = mvc.perform(get("/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.createToken(admin)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(NdjsonExporter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        var lines = body.split("\n");
+        assertEquals(userRepository.count(), lines.length);
+        for (var line : lines) {
+            var user = mapper.readTree(line);
+            assertTrue(user.hasNonNull("id"));
+            assertFalse(user.has("password"));
+        }
+        assertEquals(admin.getUsername(), mapper.readTree(lines[lines.length - 1]).get("username").asText());
+    }
+
+    @Test
+    void exportIsForAdminsOnly() throws Exception {
+        var user = persist(Role.USER);
+
+        mvc.perform(get("/users/export").header(HttpHeaders.AUTHORIZATION, "Bearer " + jwt.createToken(user)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static int id(User user) {
+        return user.getId().intValue();
+    }
+
+    private User persist(Role role) {
+        var n = SEQUENCE.incrementAndGet();
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setEmail("usercontroller" + n + "@email.com");
+
+        var user = new User();
+        user.setUsername("usercontroller" + n);
+        user.setPassword("mYp@s$w0rd");
+        user.setRoles(new HashSet<>(Set.of(role)));
+        user.setPersonalData(personalData);
+        return transactionTemplate.execute(s -> userRepository.save(user));
+    }
+}
@@ -0,0 +1,118 @@
+package br.pucpr.maisrolev2.rest.users;
+
+import br.pucpr.maisrolev2.lib.bulk.BulkItemResult;
+import br.pucpr.maisrolev2.lib.exception.UnauthorizedException;
+import br.pucpr.maisrolev2.rest.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceTests {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    // The cell number passes validation but not the column length, so the whole chunk is rolled back
+    // on flush and written again one user per transaction.
+    @Test
+    void aFailingRowOnlyFailsItselfAndTheRestOfItsChunkIsCreated() {
+        var users = List.of(newUser(), newUser(), newUser(), newUser());
+        users.get(2).getPersonalData().setCellNumber("9".repeat(300));
+
+        var result = userService.addAll(users);
+
+        assertEquals(3, result.created());
+        assertEquals(1, result.failed());
+        assertEquals(BulkItemResult.Status.FAILED, result.items().get(2).status());
+        assertFalse(userRepository.findByUsername(users.get(2).getUsername()).isPresent());
+        for (var i : List.of(0, 1, 3)) {
+            var item = result.items().get(i);
+            assertEquals(BulkItemResult.Status.CREATED, item.status());
+            // The ids assigned by the rolled back attempt are cleared, so the retry persists the user
+            // itself instead of merging a copy under a new id.
+            assertNotNull(item.id());
+            assertEquals(item.id(), users.get(i).getId());
+            var saved = transactionTemplate.execute(s -> {
+                var user = userRepository.findById(item.id()).orElseThrow();
+                return List.of(user.getUsername(), user.getPersonalData().getEmail());
+            });
+            assertEquals(List.of(users.get(i).getUsername(), users.get(i).getPersonalData().getEmail()), saved);
+        }
+        assertEquals(3, result.items().stream().map(BulkItemResult::id).filter(id -> id != null).distinct().count());
+    }
+
+    @Test
+    void duplicatesWithinTheBatchAreRejected() {
+        var existing = newUser();
+        userService.addAll(List.of(existing));
+        var first = newUser();
+        var sameUsername = newUser();
+        sameUsername.setUsername(first.getUsername().toUpperCase());
+        var sameEmail = newUser();
+        sameEmail.getPersonalData().setEmail(first.getPersonalData().getEmail().toUpperCase());
+        var takenUsername = newUser();
+        takenUsername.setUsername(existing.getUsername());
+
+        var result = userService.addAll(List.of(first, sameUsername, sameEmail, takenUsername));
+
+        assertEquals(1, result.created());
+        assertEquals(3, result.rejected());
+        assertEquals(BulkItemResult.Status.CREATED, result.items().get(0).status());
+        assertEquals(List.of("Username already taken."), result.items().get(1).errors());
+        assertEquals(List.of("Email already taken."), result.items().get(2).errors());
+        assertEquals(List.of("Username already taken."), result.items().get(3).errors());
+        assertTrue(userRepository.findByUsername(first.getUsername()).isPresent());
+    }
+
+    @Test
+    void aPlaintextPasswordIsReplacedByABCryptHashOnLogin() {
+        var user = newUser();
+        transactionTemplate.executeWithoutResult(s -> userRepository.save(user));
+
+        var logged = userService.logUser(user.getUsername(), "mYp@s$w0rd");
+
+        var stored = userRepository.findById(logged.getId()).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2"), stored);
+        assertTrue(passwordEncoder.matches("mYp@s$w0rd", stored));
+        assertEquals(logged.getId(), userService.logUser(user.getUsername(), "mYp@s$w0rd").getId());
+        assertThrows(UnauthorizedException.class, () -> userService.logUser(user.getUsername(), stored));
+    }
+
+    private static User newUser() {
+        var n = SEQUENCE.incrementAndGet();
+        var personalData = new UserPersonalData();
+        personalData.setFirstName("John");
+        personalData.setLastName("Doe");
+        personalData.setEmail("bulk" + n + "@email.com");
+
+        var user = new User();
+        user.setUsername("bulkuser" + n);
+        user.setPassword("mYp@s$w0rd");
+        user.setRoles(new HashSet<>(Set.of(Role.USER)));
+        user.setPersonalData(personalData);
+        return user;
+    }
+}